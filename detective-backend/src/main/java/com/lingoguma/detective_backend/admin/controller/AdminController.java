@@ -8,18 +8,35 @@ import com.lingoguma.detective_backend.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.game.journal.GameJournal;
 import com.lingoguma.detective_backend.game.repository.GameSessionRepository;
+import com.lingoguma.detective_backend.game.service.DailyRollupService;
+import com.lingoguma.detective_backend.game.service.GameExportService;
+import com.lingoguma.detective_backend.game.service.GameNlpClient;
+import com.lingoguma.detective_backend.game.service.GameRescoreJob;
+import com.lingoguma.detective_backend.game.service.LlmScheduler;
+import com.lingoguma.detective_backend.game.service.LlmUsageLedger;
 import com.lingoguma.detective_backend.scenario.dto.ScenarioResponse;
 import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
 import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioVersionRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCatalogCache;
+import com.lingoguma.detective_backend.scenario.service.ScenarioSearchIndex;
 import com.lingoguma.detective_backend.scenario.service.ScenarioService;
+import com.lingoguma.detective_backend.scenario.service.ScenarioVersionService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -30,6 +47,17 @@ public class AdminController {
     private final UserRepository userRepository;
     private final ScenarioRepository scenarioRepository;
     private final GameSessionRepository gameSessionRepository;
+    private final LlmScheduler llmScheduler;
+    private final LlmUsageLedger usageLedger;
+    private final GameNlpClient nlpClient;
+    private final GameRescoreJob rescoreJob;
+    private final GameExportService exportService;
+    private final DailyRollupService rollupService;
+    private final GameJournal gameJournal;
+    private final ScenarioCatalogCache catalogCache;
+    private final ScenarioVersionRepository scenarioVersionRepository;
+    private final ScenarioVersionService versionService;
+    private final ScenarioSearchIndex searchIndex;
 
     // ==============================
     // 1. 유저 관리
@@ -68,13 +96,18 @@ public class AdminController {
 
     /**
      * 모든 시나리오 조회 (관리자 전용)
+     * - 기본: 요약(contentJson 제외), full=true면 본문 포함 전체
      */
     @GetMapping("/scenarios")
-    public ResponseEntity<?> getAllScenarios(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+    public ResponseEntity<?> getAllScenarios(@AuthenticationPrincipal CustomUserDetails adminDetails,
+                                             @RequestParam(defaultValue = "false") boolean full) {
         if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
             return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
         }
 
+        if (!full) {
+            return ResponseEntity.ok(scenarioRepository.findAllSummaries());
+        }
         List<ScenarioResponse> scenarios = scenarioRepository.findAll()
                 .stream()
                 .map(ScenarioResponse::fromEntity)
@@ -83,6 +116,20 @@ public class AdminController {
         return ResponseEntity.ok(scenarios);
     }
 
+    /**
+     * 시나리오 상세 조회 (관리자 전용, 상태 무관 / 검수용 본문 포함)
+     */
+    @GetMapping("/scenarios/{id}")
+    public ResponseEntity<?> getScenario(@AuthenticationPrincipal CustomUserDetails adminDetails,
+                                         @PathVariable Integer id) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return scenarioRepository.findById(id)
+                .<ResponseEntity<?>>map(s -> ResponseEntity.ok(ScenarioResponse.fromEntity(s)))
+                .orElseGet(() -> ResponseEntity.status(404).body("시나리오를 찾을 수 없습니다."));
+    }
+
     /**
      * 시나리오 승인 (DRAFT → PUBLISHED)
      */
@@ -100,6 +147,8 @@ public class AdminController {
                 .orElseThrow(() -> new RuntimeException("시나리오 없음"));
         scenario.setScenStatus(ScenStatus.PUBLISHED);
         scenarioRepository.save(scenario);
+        catalogCache.invalidate();
+        searchIndex.publish(scenario);
 
         return ResponseEntity.ok("시나리오 승인 완료");
     }
@@ -121,6 +170,8 @@ public class AdminController {
                 .orElseThrow(() -> new RuntimeException("시나리오 없음"));
         scenario.setScenStatus(ScenStatus.ARCHIVED);
         scenarioRepository.save(scenario);
+        catalogCache.invalidate();
+        searchIndex.unpublish(id);
 
         return ResponseEntity.ok("시나리오 반려 완료");
     }
@@ -142,12 +193,256 @@ public class AdminController {
             // 1. 해당 시나리오와 연결된 모든 세션 삭제
             gameSessionRepository.deleteByScenario_ScenIdx(id);
 
-            // 2. 시나리오 삭제
+            // 2. 시나리오 버전 스냅샷 삭제
+            scenarioVersionRepository.deleteByScenIdx(id);
+            versionService.forget(id);
+
+            // 3. 시나리오 삭제
             scenarioRepository.deleteById(id);
+            catalogCache.invalidate();
+            searchIndex.unpublish(id);
 
             return ResponseEntity.ok("시나리오 및 관련 세션 삭제 완료");
         } catch (Exception e) {
             return ResponseEntity.status(500).body("삭제 실패: " + e.getMessage());
         }
     }
+
+    // ==============================
+    // 3. 운영 지표
+    // ==============================
+
+    /**
+     * GPT 호출 스케줄러 상태 (클래스별 대기 시간/대기 건수)
+     */
+    @GetMapping("/metrics/llm-scheduler")
+    public ResponseEntity<?> llmSchedulerMetrics(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(llmScheduler.snapshot());
+    }
+
+    /**
+     * GPT 사용량 원장 조회 (일자별, 세션 단위 / 토큰 많은 순)
+     * - date 미지정 시 오늘
+     */
+    @GetMapping("/metrics/llm-usage")
+    public ResponseEntity<?> llmUsage(
+            @AuthenticationPrincipal CustomUserDetails adminDetails,
+            @RequestParam(required = false) String date
+    ) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        LocalDate day = (date == null || date.isBlank()) ? LocalDate.now() : LocalDate.parse(date);
+        return ResponseEntity.ok(usageLedger.findByDate(day));
+    }
+
+    /**
+     * NLP 엔진별 서킷 브레이커 상태 (CLOSED / OPEN / HALF_OPEN)
+     */
+    @GetMapping("/metrics/nlp-breakers")
+    public ResponseEntity<?> nlpBreakers(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(nlpClient.breakerSnapshot());
+    }
+
+    /**
+     * NLP 마이크로 배칭 통계 (엔진별 배치 수 / 평균 크기 / 대기 건수) + 압축 전송 통계
+     */
+    @GetMapping("/metrics/nlp-batching")
+    public ResponseEntity<?> nlpBatching(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(Map.of(
+                "batchers", nlpClient.batchSnapshot(),
+                "payload", nlpClient.payloadSnapshot()
+        ));
+    }
+
+    /**
+     * NLP 분석 결과 메모 통계 (메모리/테이블 적중, miss)
+     */
+    @GetMapping("/metrics/nlp-memo")
+    public ResponseEntity<?> nlpMemo(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(nlpClient.memoSnapshot());
+    }
+
+    /**
+     * 게임 이벤트 저널 상태 (기록/버림 건수, 현재 세그먼트)
+     */
+    @GetMapping("/metrics/journal")
+    public ResponseEntity<?> journalStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(gameJournal.stats());
+    }
+
+    // ==============================
+    // 4. 배치 작업
+    // ==============================
+
+    /**
+     * 과거 세션 일괄 재채점 시작 (체크포인트부터 이어서, restart=true면 처음부터)
+     */
+    @PostMapping("/jobs/rescore/start")
+    public ResponseEntity<?> startRescore(@RequestParam(defaultValue = "4") int parallelism,
+                                          @RequestParam(defaultValue = "2") double ratePerSec,
+                                          @RequestParam(defaultValue = "50") int pageSize,
+                                          @RequestParam(defaultValue = "false") boolean restart,
+                                          @AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        if (!rescoreJob.start(parallelism, ratePerSec, pageSize, restart)) {
+            return ResponseEntity.status(409).body("재채점 작업이 이미 실행 중입니다.");
+        }
+        return ResponseEntity.ok(rescoreJob.status());
+    }
+
+    /**
+     * 재채점 중단 (현재 페이지까지 저장 후 멈춤, 이후 start로 재개)
+     */
+    @PostMapping("/jobs/rescore/stop")
+    public ResponseEntity<?> stopRescore(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        rescoreJob.stop();
+        return ResponseEntity.ok("재채점 중단 요청됨");
+    }
+
+    /**
+     * 재채점 진행 상황 / 처리량
+     */
+    @GetMapping("/jobs/rescore")
+    public ResponseEntity<?> rescoreStatus(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(rescoreJob.status());
+    }
+
+    // ==============================
+    // 5. 데이터 내보내기
+    // ==============================
+
+    /**
+     * 게임 결과 전체 내보내기 (format=ndjson|csv, gzip=true면 .gz)
+     * - 행 단위 스트리밍, 응답 크기와 무관하게 메모리 일정
+     */
+    @GetMapping("/export/results")
+    public ResponseEntity<?> exportResults(@RequestParam(defaultValue = "ndjson") String format,
+                                           @RequestParam(defaultValue = "false") boolean gzip,
+                                           @AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        GameExportService.Format f = exportFormat(format);
+        if (f == null) return ResponseEntity.badRequest().body("지원하지 않는 format: " + format);
+        StreamingResponseBody body = out -> exportService.exportResults(out, f, gzip);
+        return exportResponse("game_results", f, gzip, body);
+    }
+
+    /**
+     * 세션 로그(대화 기록) 전체 내보내기 (format=ndjson|csv, gzip=true면 .gz)
+     */
+    @GetMapping("/export/sessions")
+    public ResponseEntity<?> exportSessions(@RequestParam(defaultValue = "ndjson") String format,
+                                            @RequestParam(defaultValue = "false") boolean gzip,
+                                            @AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        GameExportService.Format f = exportFormat(format);
+        if (f == null) return ResponseEntity.badRequest().body("지원하지 않는 format: " + format);
+        StreamingResponseBody body = out -> exportService.exportSessions(out, f, gzip);
+        return exportResponse("game_sessions", f, gzip, body);
+    }
+
+    private GameExportService.Format exportFormat(String format) {
+        return switch (format.toLowerCase()) {
+            case "ndjson", "jsonl" -> GameExportService.Format.NDJSON;
+            case "csv" -> GameExportService.Format.CSV;
+            default -> null;
+        };
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, GameExportService.Format f,
+                                                                 boolean gzip, StreamingResponseBody body) {
+        String ext = f == GameExportService.Format.CSV ? "csv" : "ndjson";
+        MediaType type = gzip ? MediaType.parseMediaType("application/gzip")
+                : f == GameExportService.Format.CSV ? MediaType.parseMediaType("text/csv; charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+        String filename = name + "-" + LocalDate.now() + "." + ext + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(type)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    // ==============================
+    // 6. 통계 (일자 × 시나리오 집계 테이블만 조회)
+    // ==============================
+
+    /**
+     * 일자별 플레이 수 / 정답률 / 평균 스킬 (기본: 최근 30일, scenIdx 생략 시 전체 시나리오)
+     */
+    @GetMapping("/analytics/daily")
+    public ResponseEntity<?> analyticsDaily(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                            @RequestParam(required = false) Integer scenIdx,
+                                            @AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(rollupService.daily(start, end, scenIdx));
+    }
+
+    /**
+     * 기간 합계 시나리오별 플레이 수 / 정답률 / 평균 스킬 (기본: 최근 30일)
+     */
+    @GetMapping("/analytics/scenarios")
+    public ResponseEntity<?> analyticsByScenario(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                 @AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(rollupService.byScenario(start, end));
+    }
+
+    /**
+     * 집계 진행 위치 (세션/결과 high-water mark)
+     */
+    @GetMapping("/analytics/rollup")
+    public ResponseEntity<?> rollupStatus(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(rollupService.status());
+    }
+
+    /**
+     * 전체 재집계 (재채점 이후 등)
+     */
+    @PostMapping("/analytics/rollup/rebuild")
+    public ResponseEntity<?> rebuildRollup(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(rollupService.rebuild());
+    }
 }
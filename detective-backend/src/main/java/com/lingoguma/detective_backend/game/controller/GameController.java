@@ -3,10 +3,18 @@ package com.lingoguma.detective_backend.game.controller;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lingoguma.detective_backend.game.dto.*;
+import com.lingoguma.detective_backend.game.entity.AnalysisStatus;
+import com.lingoguma.detective_backend.game.journal.GameJournal;
 import com.lingoguma.detective_backend.game.service.*;
-import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.global.json.RawJson;
+import com.lingoguma.detective_backend.scenario.service.ScenarioSnapshot;
+import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
+import com.lingoguma.detective_backend.user.entity.Role;
+import com.lingoguma.detective_backend.user.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -22,7 +30,12 @@ public class GameController {
     private final GameSessionService sessionService;
     private final ObjectMapper mapper;
     private final GameResultService resultService;
-    private final GameNlpClient nlpClient;
+    private final GameAnalysisService analysisService;
+    private final LlmScheduler llmScheduler;
+    private final LlmUsageLedger usageLedger;
+    private final LlmQuotaGuard quotaGuard;
+    private final TriggerHeatmap triggerHeatmap;
+    private final GameJournal journal;
 
     // ==============================
     // 세션 시작
@@ -36,11 +49,54 @@ public class GameController {
         return ResponseEntity.ok(sessionId);
     }
 
+    // ==============================
+    // 진행 중 누적 지표 (실시간 "탐정 지수" 화면용, 로그 재스캔 없음)
+    //  - 로그와 같은 권한: 본인/ADMIN, 게스트 세션은 로그인만
+    // ==============================
+    @GetMapping("/session/{sessionId}/metrics")
+    public ResponseEntity<Map<String, Object>> sessionMetrics(
+            @PathVariable Integer sessionId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) return ResponseEntity.status(401).build();
+        User owner = sessionService.getUser(sessionId);
+        if (owner != null
+                && !owner.getUserIdx().equals(userDetails.getUser().getUserIdx())
+                && userDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).build();
+        }
+        SessionMetrics m = sessionService.getMetrics(sessionId);
+        Map<String, Object> body = new HashMap<>();
+        body.put("metrics", m);
+        body.put("engagementFactor",
+                SkillScorer.engagementFactor(m.getQuestionCount(), m.getMeaningfulCount(), m.getAvgLength()));
+        return ResponseEntity.ok(body);
+    }
+
+    // ==============================
+    // 세션 대화 로그 (본인/ADMIN, 게스트 세션은 로그인만)
+    //  - JSON 컬럼 원문을 그대로 응답 (파싱/재직렬화 없음)
+    // ==============================
+    @GetMapping("/session/{sessionId}/log")
+    public ResponseEntity<RawJson> sessionLog(
+            @PathVariable Integer sessionId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) return ResponseEntity.status(401).build();
+        User owner = sessionService.getUser(sessionId);
+        if (owner != null
+                && !owner.getUserIdx().equals(userDetails.getUser().getUserIdx())
+                && userDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(RawJson.of(sessionService.getLogJson(sessionId)));
+    }
+
     // ==============================
     // 질문하기 (GPT 호출 + 로그 저장)
     // ==============================
     @PostMapping("/ask")
-    public ResponseEntity<NlpAskResponse> ask(@RequestBody NlpAskRequest req) {
+    public ResponseEntity<NlpAskResponse> ask(@RequestBody NlpAskRequest req, HttpServletRequest httpReq) {
         // 1) 직전 로그
         Map<String, Object> logMap;
         try {
@@ -52,17 +108,9 @@ public class GameController {
             logMap = Map.of("logs", List.of());
         }
 
-        // 2) 컨텐츠 로드
-        Scenario scenario = sessionService.getScenario(req.getSessionId());
-        Map<String, Object> content;
-        try {
-            content = mapper.readValue(
-                    scenario.getContentJson(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
-        } catch (Exception e) {
-            content = Map.of();
-        }
+        // 2) 컨텐츠 로드 (세션에 고정된 버전, 파싱 결과는 버전별 캐시)
+        ScenarioSnapshot scenario = sessionService.getSnapshot(req.getSessionId());
+        Map<String, Object> content = scenario.getContent();
 
         @SuppressWarnings("unchecked")
         List<Map<String, Object>> characters =
@@ -93,9 +141,12 @@ public class GameController {
         // 2-3) 범인 여부(id 기준)
         boolean isCulprit = culpritId != null && culpritId.equals(suspect.get("id"));
 
-        // 3) 프롬프트 빌드
-        String globalPrompt = buildGlobalPrompt(content);
-        String characterPrompt = buildCharacterPrompt(suspect, isCulprit, content);
+        // 3) 프롬프트 빌드 (버전별로 한 번만, 용의자 프롬프트는 용의자별)
+        final Map<String, Object> suspectRef = suspect;
+        String globalPrompt = scenario.derive("prompt.global", snap -> buildGlobalPrompt(snap.getContent()));
+        String characterPrompt = scenario.derive(
+                "prompt.character:" + suspect.get("id") + ":" + suspect.get("name"),
+                snap -> buildCharacterPrompt(suspectRef, isCulprit, snap.getContent()));
 
         // 4) 메시지 구성 (이전 로그 재생성: 최근 N턴만)
         List<Map<String, String>> messages = new java.util.ArrayList<>();
@@ -116,15 +167,55 @@ public class GameController {
         }
 
         // 5) 트리거 감지 (평가지표 연동)
-        Map<String, Object> triggerMeta = detectTriggers(req.getUserText(), content);
+        Map<String, Object> triggerMeta = detectTriggers(req.getUserText(),
+                scenario.derive("triggers", snap -> buildTriggerIndex(snap.getContent())));
         String suspectName = String.valueOf(suspect.getOrDefault("name","?"));
         String userMsgForModel = "[용의자:" + suspectName + "] 플레이어 질문: " + req.getUserText();
         messages.add(Map.of("role", "user", "content", userMsgForModel));
 
-        // 6) GPT 호출
-        String answerText = gptClient.chat(messages);
+        // 6) 쿼터 확인 (세션/회원 일일/게스트 IP 일일)
+        User player = sessionService.getUser(req.getSessionId());
+        Integer playerIdx = player == null ? null : player.getUserIdx();
+        String ip = clientIp(httpReq);
+        String quotaDenied = quotaGuard.tryAcquire(req.getSessionId(), logs.size() / 2, playerIdx, ip);
+        if (quotaDenied != null) {
+            NlpAskResponse denied = new NlpAskResponse();
+            denied.setAnswer(quotaDenied);
+            return ResponseEntity.status(429).body(denied);
+        }
+        int journalUser = playerIdx == null ? 0 : playerIdx;
+        journal.questionAsked(req.getSessionId(), scenario.getScenIdx(), journalUser,
+                triggerLevelNum(triggerMeta.get("triggerLevel")),
+                sizeOf(triggerMeta.get("firedEvidenceIds")),
+                sizeOf(triggerMeta.get("firedTimes")),
+                sizeOf(triggerMeta.get("firedLocations")),
+                logs.size() / 2 + 1);
+
+        // 7) GPT 호출 (WFQ 스케줄러 경유: Role/게스트 가중치 + 유저별 공정 몫) + 사용량 원장 기록
+        LlmScheduler.Ticket ticket = LlmScheduler.Ticket.of(player, ip); // 쿼터와 같은 클라이언트 IP 기준
+        GptClient.ChatResult chat;
+        long askStarted = System.nanoTime();
+        try {
+            chat = llmScheduler.run(ticket, () -> gptClient.chatWithUsage(messages));
+        } catch (LlmScheduler.QueueTimeoutException e) {
+            journal.answerReturned(req.getSessionId(), scenario.getScenIdx(), journalUser, true,
+                    (System.nanoTime() - askStarted) / 1_000_000, 0);
+            quotaGuard.refund(req.getSessionId(), playerIdx, ip);
+            NlpAskResponse busy = new NlpAskResponse();
+            busy.setAnswer("지금은 질문이 몰려 답변이 늦어지고 있습니다. 잠시 후 다시 시도해주세요.");
+            return ResponseEntity.status(503).body(busy);
+        } catch (RuntimeException e) {
+            // GPT 호출 실패: 답변을 못 받았으므로 차감분 되돌리고 기존처럼 오류 전파
+            quotaGuard.refund(req.getSessionId(), playerIdx, ip);
+            throw e;
+        }
+        journal.answerReturned(req.getSessionId(), scenario.getScenIdx(), journalUser, false,
+                (System.nanoTime() - askStarted) / 1_000_000, chat.totalTokens());
+        usageLedger.record(req.getSessionId(), playerIdx, scenario.getScenIdx(), chat);
+        triggerHeatmap.record(scenario.getScenIdx(), triggerMeta);
+        String answerText = chat.content();
 
-        // 7) 로그 저장 (역할 태깅 + 트리거 메타 + suspectId)
+        // 8) 로그 저장 (역할 태깅 + 트리거 메타 + suspectId)
         try {
             Object suspectId = suspect.get("id");
 
@@ -155,154 +246,53 @@ public class GameController {
             );
         }
 
-        // 8) 응답
+        // 9) 응답
         NlpAskResponse resp = new NlpAskResponse();
         resp.setAnswer(answerText);
         return ResponseEntity.ok(resp);
     }
 
     // ==============================
-    // 사건 종료 → NLP 분석 + 결과 저장
+    // 사건 종료 → 결과 저장(PENDING) 후 즉시 응답, NLP 분석은 워커 풀에서 진행
+    //  - 완료 확인: GET /api/game-results/{resultId}/status (폴링) 또는 /events (SSE)
     // ==============================
     @PostMapping("/result")
-    public ResponseEntity<Map<String, Integer>> finish(@RequestBody GameFinishRequest req) {
+    public ResponseEntity<Map<String, Object>> finish(@RequestBody GameFinishRequest req) {
         try {
-            // 1. 세션 로그
-            String logJsonStr = sessionService.getLogJson(req.getSessionId());
-
-            // 2. NLP 요청 DTO 준비
-            NlpAnalyzeRequest analyzeReq = new NlpAnalyzeRequest();
-            analyzeReq.setSessionId(req.getSessionId());
-            analyzeReq.setLogJson(safeToMap(logJsonStr));
-
-            Scenario scenario = sessionService.getScenario(req.getSessionId());
-            Map<String, Object> content = mapper.readValue(
-                    scenario.getContentJson(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> scenMeta = (Map<String, Object>) content.getOrDefault("scenario", Map.of());
-            String caseTitle = (String) scenMeta.getOrDefault("title", scenario.getScenTitle());
-            String caseSummary = (String) scenMeta.getOrDefault("summary", scenario.getScenSummary());
-
-            java.util.List<String> facts = new java.util.ArrayList<>();
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> characters =
-                    (java.util.List<Map<String, Object>>) content.getOrDefault("characters", java.util.List.of());
-            for (Map<String, Object> ch : characters) {
-                Object alibi = ch.get("alibi");
-                if (alibi != null) {
-                    facts.add(ch.getOrDefault("name", "") + " 알리바이: " + alibi.toString());
-                }
-            }
-
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> evidence =
-                    (java.util.List<Map<String, Object>>) content.getOrDefault("evidence", java.util.List.of());
-            for (Map<String, Object> ev : evidence) {
-                String name = String.valueOf(ev.getOrDefault("name", ""));
-                String desc = String.valueOf(ev.getOrDefault("desc", ""));
-                if (!name.isBlank()) {
-                    facts.add("증거: " + name + (desc.isBlank() ? "" : " - " + desc));
-                }
-            }
-
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> timeline =
-                    (java.util.List<Map<String, Object>>) content.getOrDefault("timeline", java.util.List.of());
-            for (Map<String, Object> t : timeline) {
-                String time = String.valueOf(t.getOrDefault("time", ""));
-                String event = String.valueOf(t.getOrDefault("event", ""));
-                if (!time.isBlank() && !event.isBlank()) {
-                    facts.add("타임라인 " + time + ": " + event);
-                }
-            }
-
-            if (facts.size() > 12) {
-                facts = facts.subList(0, 12);
-            }
-
-            analyzeReq.setCaseTitle(caseTitle);
-            analyzeReq.setCaseSummary(caseSummary);
-            analyzeReq.setFacts(facts);
-            analyzeReq.setFinalAnswer(req.getAnswerJson());
-            analyzeReq.setTimings(req.getTimings());
-            analyzeReq.setEngine("hf");
+            // 1. NLP 요청 DTO 준비 (세션/시나리오 검증 겸함)
+            NlpAnalyzeRequest analyzeReq = analysisService.buildAnalyzeRequest(
+                    req.getSessionId(), req.getAnswerJson(), req.getTimings());
 
-            // [ADD] 정답 메타(goldAnswer) 구성
-            @SuppressWarnings("unchecked")
-            Map<String, Object> answer = (Map<String, Object>) content.getOrDefault("answer", Map.of());
-            String realCulpritId = (String) answer.getOrDefault("culprit", null);
-
-            // 범인 이름 찾아주기
-            String culpritName = null;
-            if (realCulpritId != null) {
-                culpritName = characters.stream()
-                        .filter(c -> realCulpritId.equals(String.valueOf(c.get("id"))))
-                        .map(c -> String.valueOf(c.getOrDefault("name","")))
-                        .findFirst().orElse(null);
-            }
-
-            // 정답 핵심증거 id 리스트
-            java.util.List<String> keyEvidenceIds = new java.util.ArrayList<>();
-            {
-                @SuppressWarnings("unchecked")
-                java.util.List<Object> ke = (java.util.List<Object>) answer.getOrDefault("key_evidence", java.util.List.of());
-                for (Object o : ke) keyEvidenceIds.add(String.valueOf(o));
-            }
-
-            String motive = String.valueOf(answer.getOrDefault("motive",""));
-            String method = String.valueOf(answer.getOrDefault("method",""));
-
-            Map<String,Object> gold = new java.util.HashMap<>();
-            gold.put("culpritId", realCulpritId);
-            gold.put("culpritName", culpritName);
-            gold.put("motive", motive);
-            gold.put("method", method);
-            gold.put("keyEvidenceIds", keyEvidenceIds);
-
-            analyzeReq.setGoldAnswer(gold); // NLP로 함께 전달
-
-            // 3. FastAPI 호출
-            NlpAnalyzeResponse analyzeResp = null;
-            try {
-                analyzeResp = nlpClient.analyze(analyzeReq);
-            } catch (Exception e) {
-                System.err.println("NLP 분석 서버 호출 실패(hf): " + e.getMessage());
-            }
-            if (analyzeResp == null) {
-                try {
-                    analyzeReq.setEngine("dummy");
-                    analyzeResp = nlpClient.analyze(analyzeReq);
-                    System.err.println("hf 실패 → dummy 엔진으로 대체 성공");
-                } catch (Exception e) {
-                    System.err.println("dummy 엔진도 실패: " + e.getMessage());
-                }
-            }
+            // 2. 정답 여부 계산
+            boolean isCorrect = checkCorrect(req);
 
-            // 4. skills 결정
-            Map<String, ?> chosen;
+            // 3. DB 저장: 클라이언트가 점수를 직접 보낸 경우만 바로 DONE
+            Integer resultId;
+            AnalysisStatus status;
             if (req.getSkills() != null) {
-                chosen = req.getSkills();
-            } else if (analyzeResp != null && analyzeResp.getSkills() != null) {
-                chosen = analyzeResp.getSkills();
+                String skillsJsonStr = analysisService.toJson(analysisService.coerceSkillInts(req.getSkills()));
+                status = AnalysisStatus.DONE;
+                resultId = resultService.saveResult(req, skillsJsonStr, isCorrect, status);
             } else {
-                chosen = Map.of();
+                status = AnalysisStatus.PENDING;
+                resultId = resultService.saveResult(req, null, isCorrect, status);
             }
-            Map<String, Integer> skillsToSave = coerceSkillInts(chosen);
-            String skillsJsonStr = toJson(skillsToSave);
-
-            // 5. 정답 여부 계산
-            boolean isCorrect = checkCorrect(req);
 
-            // 6. DB 저장
-            Integer resultId = resultService.saveResult(req, skillsJsonStr, isCorrect);
+            journal.resultSaved(req.getSessionId(),
+                    req.getScenIdx() == null ? 0 : req.getScenIdx(),
+                    req.getUserIdx() == null ? 0 : req.getUserIdx(),
+                    resultId, isCorrect, status == AnalysisStatus.PENDING);
 
-            // 7. 세션 종료
+            // 4. 세션 종료
             sessionService.finishSession(req.getSessionId());
+            quotaGuard.forgetSession(req.getSessionId());
 
-            return ResponseEntity.ok(Map.of("resultId", resultId));
+            // 5. 백그라운드 분석 제출
+            if (status == AnalysisStatus.PENDING) {
+                analysisService.submit(resultId, analyzeReq);
+            }
+
+            return ResponseEntity.ok(Map.of("resultId", resultId, "analysisStatus", status.name()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body(Map.of("error", -1));
@@ -314,11 +304,7 @@ public class GameController {
     // ==============================
     private boolean checkCorrect(GameFinishRequest req) {
         try {
-            Scenario scenario = sessionService.getScenario(req.getSessionId());
-            Map<String, Object> content = mapper.readValue(
-                    scenario.getContentJson(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
+            Map<String, Object> content = sessionService.getSnapshot(req.getSessionId()).getContent();
 
             @SuppressWarnings("unchecked")
             Map<String, Object> answer = (Map<String, Object>) content.getOrDefault("answer", Map.of());
@@ -350,41 +336,12 @@ public class GameController {
     // ==============================
     // util
     // ==============================
-    private Map<String, Object> safeToMap(String json) {
-        try {
-            return mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
-        } catch (Exception e) {
-            return Map.of("logs", List.of());
-        }
-    }
-
-    private String toJson(Object o) {
-        try {
-            return mapper.writeValueAsString(o);
-        } catch (Exception e) {
-            return "{}";
-        }
-    }
-
-    private Map<String, Integer> coerceSkillInts(Map<String, ?> in) {
-        java.util.HashMap<String, Integer> out = new java.util.HashMap<>();
-        String[] keys = new String[]{"logic", "creativity", "focus", "diversity", "depth"};
-        if (in != null) {
-            for (String k : keys) {
-                Object v = in.get(k);
-                int iv = 0;
-                if (v instanceof Number) {
-                    iv = (int) Math.round(((Number) v).doubleValue());
-                } else if (v instanceof String) {
-                    try { iv = (int) Math.round(Double.parseDouble((String) v)); } catch (Exception ignored) {}
-                }
-                if (iv < 0) iv = 0;
-                if (iv > 100) iv = 100;
-                out.put(k, iv);
-            }
-        }
-        for (String k : keys) if (!out.containsKey(k)) out.put(k, 0);
-        return out;
+    // 게스트 쿼터/LLM 스케줄러 흐름 키용 클라이언트 IP (두 곳 모두 이 값만 사용)
+    //  - X-Forwarded-For를 직접 읽지 않음 (클라이언트가 임의로 바꿔 쿼터 우회 가능)
+    //  - 신뢰하는 프록시 뒤에서는 server.forward-headers-strategy=NATIVE + server.tomcat.remoteip.internal-proxies로
+    //    Tomcat RemoteIpValve가 getRemoteAddr()를 실제 클라이언트 주소로 바꿔 줌
+    private String clientIp(HttpServletRequest httpReq) {
+        return httpReq.getRemoteAddr();
     }
 
     // ==============================
@@ -504,57 +461,84 @@ public class GameController {
         return sb.toString();
     }
 
+    // ==============================
+    // 저널용: "L3" → 3, 리스트 → 크기 (객체 생성 없음)
+    // ==============================
+    private static int triggerLevelNum(Object level) {
+        if (level instanceof String str && str.length() == 2) {
+            int n = str.charAt(1) - '0';
+            if (n >= 1 && n <= 3) return n;
+        }
+        return 1;
+    }
+
+    private static int sizeOf(Object list) {
+        return list instanceof List<?> l ? l.size() : 0;
+    }
+
     // ==============================
     // 트리거 감지 (간단 부분일치 포함)
+    //  - 비교 대상(증거 이름/별칭, 시간, 장소)은 버전별 TriggerIndex로 한 번만 정규화
     // ==============================
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> detectTriggers(String userText, Map<String, Object> content) {
-        // 1) 질의 정규화 + 토큰 셋
-        final String q = (userText == null ? "" : userText).toLowerCase();
-        final java.util.Set<String> tokenSet = tokenize(q); // "단어" 단위 포함 매칭 보조
+    private record TriggerTarget(String label, List<String> needles) {}
+
+    private record TriggerIndex(List<TriggerTarget> evidence,
+                                List<TriggerTarget> times,
+                                List<TriggerTarget> locations) {}
 
-        // 2) 컨텐츠 읽기
+    @SuppressWarnings("unchecked")
+    private static TriggerIndex buildTriggerIndex(Map<String, Object> content) {
         List<Map<String, Object>> evidence  = (List<Map<String, Object>>) content.getOrDefault("evidence",  List.of());
         List<Map<String, Object>> timeline  = (List<Map<String, Object>>) content.getOrDefault("timeline",  List.of());
         List<Map<String, Object>> locations = (List<Map<String, Object>>) content.getOrDefault("locations", List.of());
 
-        // 3) 증거 트리거: ID/이름 + keywords(별칭)까지 매칭
-        List<String> firedEvidenceIds = new java.util.ArrayList<>();
+        // 증거: ID/이름 + keywords(별칭) (예: ["cctv","출입기록","장갑"])
+        List<TriggerTarget> ev = new java.util.ArrayList<>();
         for (Map<String, Object> e : evidence) {
-            String id   = String.valueOf(e.getOrDefault("id", ""));
-            String name = String.valueOf(e.getOrDefault("name", "")).toLowerCase();
-
-            boolean matched = hit(q, tokenSet, name); // 이름 매칭
-            if (!matched) {
-                // keywords: ["cctv","출입기록","장갑"] 등
-                List<Object> kws = (List<Object>) e.getOrDefault("keywords", List.of());
-                for (Object kwObj : kws) {
-                    String kw = String.valueOf(kwObj).toLowerCase().trim();
-                    if (hit(q, tokenSet, kw)) { matched = true; break; }
-                }
+            String id = String.valueOf(e.getOrDefault("id", ""));
+            if (id.isBlank()) continue;
+            List<String> needles = new java.util.ArrayList<>();
+            addNeedle(needles, String.valueOf(e.getOrDefault("name", "")));
+            for (Object kw : (List<Object>) e.getOrDefault("keywords", List.of())) {
+                addNeedle(needles, String.valueOf(kw));
             }
-            if (matched && !id.isBlank()) firedEvidenceIds.add(id);
+            if (!needles.isEmpty()) ev.add(new TriggerTarget(id, needles));
         }
 
-        // 4) 시간 트리거: "14:10", "오후 2시 10분" 등은 단순 포함으로 먼저 처리
-        List<String> firedTimes = new java.util.ArrayList<>();
+        // 시간: "14:10", "오후 2시 10분" 등은 단순 포함으로 처리
+        List<TriggerTarget> times = new java.util.ArrayList<>();
         for (Map<String, Object> t : timeline) {
-            String time = String.valueOf(t.getOrDefault("time", "")).toLowerCase().trim();
-            if (!time.isBlank() && hit(q, tokenSet, time)) {
-                firedTimes.add(String.valueOf(t.get("time")));
-            }
+            List<String> needles = new java.util.ArrayList<>();
+            addNeedle(needles, String.valueOf(t.getOrDefault("time", "")));
+            if (!needles.isEmpty()) times.add(new TriggerTarget(String.valueOf(t.get("time")), needles));
         }
 
-        // 5) 장소 트리거
-        List<String> firedLocations = new java.util.ArrayList<>();
+        List<TriggerTarget> locs = new java.util.ArrayList<>();
         for (Map<String, Object> loc : locations) {
-            String lname = String.valueOf(loc.getOrDefault("name", "")).toLowerCase().trim();
-            if (!lname.isBlank() && hit(q, tokenSet, lname)) {
-                firedLocations.add(String.valueOf(loc.get("name")));
-            }
+            List<String> needles = new java.util.ArrayList<>();
+            addNeedle(needles, String.valueOf(loc.getOrDefault("name", "")));
+            if (!needles.isEmpty()) locs.add(new TriggerTarget(String.valueOf(loc.get("name")), needles));
         }
+        return new TriggerIndex(List.copyOf(ev), List.copyOf(times), List.copyOf(locs));
+    }
 
-        // 6) 레벨 결정: L3(증거) > L2(시간/장소) > L1(일반)
+    // 비교 규칙 통일: 소문자 + trim, 2글자 미만은 제외
+    private static void addNeedle(List<String> needles, String raw) {
+        String n = raw.toLowerCase().trim();
+        if (n.length() >= 2) needles.add(n);
+    }
+
+    private Map<String, Object> detectTriggers(String userText, TriggerIndex index) {
+        // 1) 질의 정규화 + 토큰 셋
+        final String q = (userText == null ? "" : userText).toLowerCase();
+        final java.util.Set<String> tokenSet = tokenize(q); // "단어" 단위 포함 매칭 보조
+
+        // 2) 증거 / 시간 / 장소 트리거
+        List<String> firedEvidenceIds = fired(q, tokenSet, index.evidence());
+        List<String> firedTimes = fired(q, tokenSet, index.times());
+        List<String> firedLocations = fired(q, tokenSet, index.locations());
+
+        // 3) 레벨 결정: L3(증거) > L2(시간/장소) > L1(일반)
         String level = !firedEvidenceIds.isEmpty() ? "L3"
                     : (!firedTimes.isEmpty() || !firedLocations.isEmpty()) ? "L2"
                     : "L1";
@@ -567,6 +551,16 @@ public class GameController {
         return meta;
     }
 
+    private List<String> fired(String q, java.util.Set<String> tokenSet, List<TriggerTarget> targets) {
+        List<String> out = new java.util.ArrayList<>();
+        for (TriggerTarget t : targets) {
+            for (String n : t.needles()) {
+                if (hit(q, tokenSet, n)) { out.add(t.label()); break; }
+            }
+        }
+        return out;
+    }
+
     /*
     * 질의를 간단 토큰 셋으로 변환 (한글/영문/숫자 유지, 길이>=2) 
     */
@@ -581,12 +575,9 @@ public class GameController {
     }
 
     /*
-    * 포함(or 토큰 일치) 판단. keywords/이름/시간/장소 모두 이 규칙으로 통일 
+    * 포함(or 토큰 일치) 판단. needle은 addNeedle로 정규화된 값
     */
-    private boolean hit(String q, java.util.Set<String> tokenSet, String needle) {
-        if (needle == null) return false;
-        String n = needle.toLowerCase().trim();
-        if (n.length() < 2) return false;
+    private boolean hit(String q, java.util.Set<String> tokenSet, String n) {
         // 긴 문자열은 부분 포함으로 우선 체크
         if (q.contains(n)) return true;
         // 단일 토큰으로 정확 일치도 허용 (예: "cctv" 같은 단어)
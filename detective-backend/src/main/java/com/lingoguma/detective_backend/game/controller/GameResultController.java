@@ -1,17 +1,24 @@
 package com.lingoguma.detective_backend.game.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lingoguma.detective_backend.game.dto.GameResultResponse;
 import com.lingoguma.detective_backend.game.entity.GameResult;
 import com.lingoguma.detective_backend.game.repository.GameResultRepository;
+import com.lingoguma.detective_backend.game.service.GameAnalysisNotifier;
+import com.lingoguma.detective_backend.game.service.GameResultQueryService;
+import com.lingoguma.detective_backend.game.service.SkillPercentileService;
+import com.lingoguma.detective_backend.game.service.UserGameStatsService;
 import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
 import com.lingoguma.detective_backend.user.entity.Role;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/game-results")
@@ -19,26 +26,59 @@ import java.util.List;
 public class GameResultController {
 
     private final GameResultRepository repo;
-    private final ObjectMapper mapper; // ObjectMapper 주입
+    private final GameAnalysisNotifier analysisNotifier;
+    private final SkillPercentileService percentileService;
+    private final UserGameStatsService userStatsService;
+    private final GameResultQueryService queryService;
 
     // ==============================
-    // 로그인한 사용자의 게임 기록 조회
+    // 로그인한 사용자의 게임 기록 (keyset 페이지, 전체 목록을 반환하던 /me 대체)
+    //  - cursor: 직전 응답의 nextCursor, 필터: scenIdx / correct / from~to (yyyy-MM-dd)
     // ==============================
-    @GetMapping("/me")
-    public ResponseEntity<List<GameResultResponse>> getMyResults(
-            @AuthenticationPrincipal CustomUserDetails userDetails
+    @GetMapping("/me/page")
+    public ResponseEntity<?> getMyResultsPage(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) Integer scenIdx,
+            @RequestParam(required = false) Boolean correct,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "20") int limit
     ) {
         if (userDetails == null) {
             return ResponseEntity.status(401).build();
         }
+        return pageOf(userDetails.getUser().getUserIdx(), scenIdx, correct, from, to, cursor, limit);
+    }
 
-        Integer userIdx = userDetails.getUser().getUserIdx();
-
-        List<GameResultResponse> results = repo.findByUserIdx(userIdx).stream()
-                .map(gr -> GameResultResponse.fromEntity(gr, mapper))
-                .toList();
+    // ==============================
+    // 로그인한 사용자의 기록 목록 (시나리오 제목/난이도 포함, keyset 페이지)
+    //  - 결과별 시나리오 상세 조회 없이 조인 프로젝션 한 번
+    // ==============================
+    @GetMapping("/me/history")
+    public ResponseEntity<?> getMyHistory(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(queryService.history(userDetails.getUser().getUserIdx(), cursor, limit));
+    }
 
-        return ResponseEntity.ok(results);
+    // ==============================
+    // 로그인한 사용자의 누적 통계 요약 (마이페이지 대시보드)
+    //  - 판 수/정답률/스킬 평균·최고점/마지막 플레이, 전체 기록 조회 없이 통계 행 하나
+    // ==============================
+    @GetMapping("/me/summary")
+    public ResponseEntity<Map<String, Object>> getMySummary(
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(userStatsService.summary(userDetails.getUser().getUserIdx()));
     }
 
     // ==============================
@@ -52,7 +92,7 @@ public class GameResultController {
         // 게스트( userIdx=null )는 권한 체크 없이 허용
         GameResult gr = repo.findById(resultId).orElseThrow(() -> new RuntimeException("결과없음"));
         if (gr.getUserIdx() == null) {
-            return ResponseEntity.ok(GameResultResponse.fromEntity(gr, mapper));
+            return ResponseEntity.ok(toResponse(gr));
         }
         // 회원이면 본인/ADMIN만 허용
         if (userDetails == null) return ResponseEntity.status(401).build();
@@ -60,7 +100,51 @@ public class GameResultController {
             && userDetails.getUser().getRole() != Role.ADMIN) {
             return ResponseEntity.status(403).build();
         }
-        return ResponseEntity.ok(GameResultResponse.fromEntity(gr, mapper));
+        return ResponseEntity.ok(toResponse(gr));
+    }
+
+    // ==============================
+    // 분석 상태 폴링 (PENDING → DONE/FAILED)
+    // ==============================
+    @GetMapping("/{resultId}/status")
+    public ResponseEntity<Map<String, Object>> getAnalysisStatus(
+            @PathVariable Integer resultId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        GameResult gr = repo.findById(resultId).orElseThrow(() -> new RuntimeException("결과없음"));
+        if (gr.getUserIdx() != null) {
+            if (userDetails == null) return ResponseEntity.status(401).build();
+            if (!gr.getUserIdx().equals(userDetails.getUser().getUserIdx())
+                && userDetails.getUser().getRole() != Role.ADMIN) {
+                return ResponseEntity.status(403).build();
+            }
+        }
+        GameResultResponse dto = toResponse(gr);
+        Map<String, Object> body = new HashMap<>();
+        body.put("resultId", dto.getResultId());
+        body.put("analysisStatus", dto.getAnalysisStatus());
+        body.put("skillsJson", dto.getSkillsJson());
+        body.put("percentiles", dto.getPercentiles());
+        return ResponseEntity.ok(body);
+    }
+
+    // ==============================
+    // 분석 완료 구독 (SSE, 완료 시 "analysis" 이벤트 1회)
+    // ==============================
+    @GetMapping(value = "/{resultId}/events", produces = "text/event-stream")
+    public ResponseEntity<SseEmitter> subscribeAnalysis(
+            @PathVariable Integer resultId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        GameResult gr = repo.findById(resultId).orElseThrow(() -> new RuntimeException("결과없음"));
+        if (gr.getUserIdx() != null) {
+            if (userDetails == null) return ResponseEntity.status(401).build();
+            if (!gr.getUserIdx().equals(userDetails.getUser().getUserIdx())
+                && userDetails.getUser().getRole() != Role.ADMIN) {
+                return ResponseEntity.status(403).build();
+            }
+        }
+        return ResponseEntity.ok(analysisNotifier.subscribe(resultId));
     }
 
     // ==============================
@@ -76,7 +160,7 @@ public class GameResultController {
 
         // 게스트 플레이( userIdx=null )는 로그인 필요 없음
         if (result.getUserIdx() == null) {
-            return ResponseEntity.ok(GameResultResponse.fromEntity(result, mapper));
+            return ResponseEntity.ok(toResponse(result));
         }
 
         // 회원 플레이일 경우만 권한 체크
@@ -90,44 +174,65 @@ public class GameResultController {
 
         // return ResponseEntity.ok(GameResultResponse.fromEntity(result, mapper));
         return repo.findTopBySessionIdOrderByResultIdDesc(sessionId)
-            .map(gr -> ResponseEntity.ok(GameResultResponse.fromEntity(gr, mapper)))
+            .map(gr -> ResponseEntity.ok(toResponse(gr)))
             .orElse(ResponseEntity.notFound().build());
     }
 
     // ==============================
-    // 관리자 전용: 특정 유저 기록 조회
+    // 관리자 전용: 특정 유저 기록 (keyset 페이지, /user/{userIdx} 전체 목록 대체)
     // ==============================
-    @GetMapping("/user/{userIdx}")
-    public ResponseEntity<List<GameResultResponse>> getUserResults(
+    @GetMapping("/user/{userIdx}/page")
+    public ResponseEntity<?> getUserResultsPage(
             @PathVariable Integer userIdx,
-            @AuthenticationPrincipal CustomUserDetails userDetails
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) Integer scenIdx,
+            @RequestParam(required = false) Boolean correct,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "20") int limit
     ) {
         if (userDetails == null || userDetails.getUser().getRole() != Role.ADMIN) {
             return ResponseEntity.status(403).build();
         }
-
-        List<GameResultResponse> results = repo.findByUserIdx(userIdx).stream()
-                .map(gr -> GameResultResponse.fromEntity(gr, mapper))
-                .toList();
-
-        return ResponseEntity.ok(results);
+        return pageOf(userIdx, scenIdx, correct, from, to, cursor, limit);
     }
 
     // ==============================
-    // 관리자 전용: 전체 게임 기록 조회
+    // 관리자 전용: 전체 게임 기록 (keyset 페이지, 전체 한 번에 반환하던 /all 제거)
     // ==============================
-    @GetMapping("/all")
-    public ResponseEntity<List<GameResultResponse>> getAllResults(
-            @AuthenticationPrincipal CustomUserDetails userDetails
+    @GetMapping("/page")
+    public ResponseEntity<?> getAllResultsPage(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) Integer scenIdx,
+            @RequestParam(required = false) Boolean correct,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "20") int limit
     ) {
         if (userDetails == null || userDetails.getUser().getRole() != Role.ADMIN) {
             return ResponseEntity.status(403).build();
         }
+        return pageOf(null, scenIdx, correct, from, to, cursor, limit);
+    }
 
-        List<GameResultResponse> results = repo.findAll().stream()
-                .map(gr -> GameResultResponse.fromEntity(gr, mapper))
-                .toList();
+    private ResponseEntity<?> pageOf(Integer userIdx, Integer scenIdx, Boolean correct,
+                                     LocalDate from, LocalDate to, Integer cursor, int limit) {
+        try {
+            return ResponseEntity.ok(queryService.page(userIdx, scenIdx, correct, from, to, cursor, limit,
+                    this::toResponse));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-        return ResponseEntity.ok(results);
+    // ==============================
+    // 응답 변환 (+ 시나리오 내 백분위)
+    // ==============================
+    private GameResultResponse toResponse(GameResult gr) {
+        GameResultResponse dto = GameResultResponse.fromEntity(gr);
+        dto.setPercentiles(percentileService.percentilesOf(gr));
+        return dto;
     }
 }
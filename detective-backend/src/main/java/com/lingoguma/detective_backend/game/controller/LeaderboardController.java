@@ -0,0 +1,48 @@
+package com.lingoguma.detective_backend.game.controller;
+
+import com.lingoguma.detective_backend.game.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 리더보드 조회 (공개, GET /api/game-results/** 허용 범위)
+ * - metric: total | logic | creativity | focus | diversity | depth
+ * - cursor: 직전 응답의 nextCursor
+ */
+@RestController
+@RequestMapping("/api/game-results/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    // ==============================
+    // 전체 리더보드
+    // ==============================
+    @GetMapping
+    public ResponseEntity<?> global(@RequestParam(defaultValue = "total") String metric,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(leaderboardService.page(null, metric, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ==============================
+    // 시나리오별 리더보드
+    // ==============================
+    @GetMapping("/scenarios/{scenIdx}")
+    public ResponseEntity<?> byScenario(@PathVariable Integer scenIdx,
+                                        @RequestParam(defaultValue = "total") String metric,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(leaderboardService.page(scenIdx, metric, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import com.lingoguma.detective_backend.game.entity.AnalysisStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 마이페이지 기록 한 줄 (game_results ⋈ scenarios 프로젝션, contentJson/답변 JSON 제외)
+ * - JPQL "select new" 생성자 순서 = 필드 순서
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameHistoryItem {
+    private Integer resultId;
+    private Integer scenIdx;
+    private String scenTitle;     // 삭제된 시나리오면 null
+    private Integer scenLevel;
+    private boolean correct;
+    private AnalysisStatus analysisStatus;
+    private Integer logic;        // 분석 전/실패면 null
+    private Integer creativity;
+    private Integer focus;
+    private Integer diversity;
+    private Integer depth;
+    private Integer totalScore;
+    private LocalDateTime createdAt;
+}
@@ -1,8 +1,8 @@
 package com.lingoguma.detective_backend.game.dto;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.entity.AnalysisStatus;
 import com.lingoguma.detective_backend.game.entity.GameResult;
+import com.lingoguma.detective_backend.global.json.RawJson;
 import lombok.Data;
 
 import java.util.Map;
@@ -13,35 +13,23 @@ public class GameResultResponse {
     private Integer sessionId;
     private Integer scenIdx;
     private Integer userIdx;
-    private Map<String, Object> answerJson;  // JSON -> Map
-    private Map<String, Object> skillsJson;  // JSON -> Map
+    private RawJson answerJson;              // JSON 컬럼 원문 그대로 (응답에서는 객체)
+    private RawJson skillsJson;              // JSON 컬럼 원문 그대로 (응답에서는 객체)
     private boolean correct;                 // boolean은 isCorrect 대신 correct로
+    private String analysisStatus;           // PENDING / DONE / FAILED
+    private Map<String, Map<String, Double>> percentiles; // 시나리오 내 백분위 {logic: {percentile, topPercent}, ...}
 
-    public static GameResultResponse fromEntity(GameResult entity, ObjectMapper mapper) {
+    public static GameResultResponse fromEntity(GameResult entity) {
         GameResultResponse dto = new GameResultResponse();
         dto.setResultId(entity.getResultId());
         dto.setSessionId(entity.getSessionId());
         dto.setScenIdx(entity.getScenIdx());
         dto.setUserIdx(entity.getUserIdx());
         dto.setCorrect(entity.isCorrect());
-
-        try {
-            if (entity.getAnswerJson() != null) {
-                dto.setAnswerJson(mapper.readValue(
-                        entity.getAnswerJson(),
-                        new TypeReference<Map<String, Object>>() {}
-                ));
-            }
-            if (entity.getSkillsJson() != null) {
-                dto.setSkillsJson(mapper.readValue(
-                        entity.getSkillsJson(),
-                        new TypeReference<Map<String, Object>>() {}
-                ));
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("JSON 변환 실패", e);
-        }
-
+        dto.setAnalysisStatus(entity.getAnalysisStatus() == null
+                ? AnalysisStatus.DONE.name() : entity.getAnalysisStatus().name());
+        dto.setAnswerJson(RawJson.of(entity.getAnswerJson()));
+        dto.setSkillsJson(RawJson.of(entity.getSkillsJson()));
         return dto;
     }
 }
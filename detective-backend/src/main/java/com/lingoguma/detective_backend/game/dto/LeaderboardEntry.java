@@ -0,0 +1,31 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 리더보드 한 줄 (회원 결과만)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private Integer resultId;
+    private Integer userIdx;
+    private String nickname;
+    private Integer scenIdx;
+    private Integer score;        // 정렬 기준 값 (metric)
+    private Integer logic;
+    private Integer creativity;
+    private Integer focus;
+    private Integer diversity;
+    private Integer depth;
+    private Integer totalScore;
+    private boolean correct;
+    private LocalDateTime createdAt;
+}
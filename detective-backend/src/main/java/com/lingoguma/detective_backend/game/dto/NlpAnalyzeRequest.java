@@ -1,5 +1,7 @@
 package com.lingoguma.detective_backend.game.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.util.Map;
 import java.util.List;
@@ -8,8 +10,10 @@ import java.util.List;
  * FastAPI로 넘길 분석 요청 DTO
  * - 기존 sessionId, logJson에 더해
  * - caseTitle/caseSummary/facts/finalAnswer/goldAnswer/engine를 전달해 정확도 향상
+ * - 압축 전송 시 맥락 필드는 비우고 contextRef만 보냄 (null 필드는 직렬화 생략)
  */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class NlpAnalyzeRequest {
     private Integer sessionId;
     private Map<String, Object> logJson;
@@ -28,4 +32,11 @@ public class NlpAnalyzeRequest {
     private String engine;
 
     private Map<String,Object> timings;        // 타이머 정보
+
+    // 시나리오 맥락(caseTitle/caseSummary/facts/goldAnswer) SHA-256, NLP 서버 맥락 캐시 키
+    private String contextRef;
+
+    // 세션 누적 지표 (java 채점 전용, NLP 서버로는 전송 안 함)
+    @JsonIgnore
+    private SessionMetrics sessionMetrics;
 }
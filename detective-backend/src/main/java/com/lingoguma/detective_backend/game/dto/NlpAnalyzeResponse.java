@@ -7,7 +7,7 @@ import java.util.Map;
  * FastAPI의 분석 응답 DTO
  * - skills: 최종 점수(0~100)
  * - submetrics: 설명/디버깅용 보조 지표(선택 저장)
- * - engine: 어떤 엔진 사용했는지(hf/dummy)
+ * - engine: 어떤 엔진 사용했는지(hf/dummy), 헤지 호출 시 먼저 유효 응답을 준 엔진
  */
 @Data
 public class NlpAnalyzeResponse {
@@ -16,4 +16,9 @@ public class NlpAnalyzeResponse {
     // [ADD] 아래 두 필드는 선택이지만 디버깅/분석 추적에 유용
     private Map<String, Double> submetrics;  // e.g. focus_sim, logic_z, novelty...
     private String engine;                   // "hf" or "dummy"
+
+    // [ADD] 헤지 호출 기록 (Spring 측에서 채움): 엔진별 응답 시간(ms), 보조 엔진 기동 여부
+    private Map<String, Long> engineLatencyMs;
+    private boolean hedged;
+    private boolean cached;                  // 메모된 결과 재사용(재분석 없음)
 }
@@ -0,0 +1,18 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * FastAPI /nlp/analyze/batch 요청 DTO
+ * - items: 세션별 분석 요청 (응답 results는 같은 순서)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NlpBatchAnalyzeRequest {
+    private List<NlpAnalyzeRequest> items;
+}
@@ -0,0 +1,21 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * FastAPI /nlp/analyze/batch 응답 DTO
+ * - results: 요청 items와 같은 순서, 항목별 성공 여부(ok) + 결과 또는 오류 메시지
+ */
+@Data
+public class NlpBatchAnalyzeResponse {
+    private List<Item> results;
+
+    @Data
+    public static class Item {
+        private boolean ok;
+        private NlpAnalyzeResponse result;
+        private String error;
+    }
+}
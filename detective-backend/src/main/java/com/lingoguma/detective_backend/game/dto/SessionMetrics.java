@@ -0,0 +1,60 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 세션 진행 중 누적 지표 (game_sessions.metrics_json)
+ * - appendLogRich 때마다 PLAYER 질문 1건씩 반영 → 종료/실시간 화면은 로그 재스캔 없이 O(1)로 읽음
+ * - 질문 판정(무의미/패널티/토큰화)은 SkillScorer와 같은 규칙
+ * - 종료 채점(SkillScorer)은 질문 수/길이/패널티/무의미 판정을 여기서 읽음
+ * - 토큰 집합이 상한에 닿으면 tokenCount도 함께 멈춤 (같은 구간의 비율 유지)
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SessionMetrics {
+
+    public static final int MAX_TOKENS = 2000;   // 다양성용 토큰 집합 상한
+
+    private int questionCount;          // PLAYER 질문 수
+    private int trivialCount;           // 무의미 질문 수 (ㅇㅇ, ㅋㅋ, ? ...)
+    private List<Integer> trivialIndexes = new ArrayList<>();       // 무의미 질문 순번 (PLAYER 질문 기준 0부터)
+    private long totalLength;           // 질문 길이 합 (코드 포인트)
+    private long meaningfulLength;      // 의미 있는 질문 길이 합
+    private int penaltySum;             // 장난/무의미 패널티 합
+    private long tokenCount;            // tokens에 반영한 토큰 수 (중복 포함, 상한 이후 미집계)
+    private Set<String> tokens = new LinkedHashSet<>();               // 의미 있는 질문의 고유 토큰
+    private Map<String, Integer> triggerLevels = new LinkedHashMap<>(); // L1/L2/L3 → 횟수
+    private Set<String> firedEvidenceIds = new LinkedHashSet<>();     // 질문으로 건드린 증거 id
+    private Map<String, Integer> suspectTurns = new LinkedHashMap<>(); // 용의자별 질문 수
+    private int lastTurn;
+
+    public int getMeaningfulCount() {
+        return questionCount - trivialCount;
+    }
+
+    public double getAvgLength() {
+        return questionCount == 0 ? 0.0 : totalLength / (double) questionCount;
+    }
+
+    public double getMeaningfulAvgLength() {
+        int n = getMeaningfulCount();
+        return n == 0 ? 0.0 : meaningfulLength / (double) n;
+    }
+
+    public double getTrivialRatio() {
+        return questionCount == 0 ? 1.0 : trivialCount / (double) questionCount;
+    }
+
+    // 고유 토큰 비율: 질문이 서로 겹칠수록 낮아짐 (다양성 근사)
+    public double getTokenDiversity() {
+        return tokenCount == 0 ? 0.0 : Math.min(1.0, tokens.size() / (double) tokenCount);
+    }
+}
@@ -0,0 +1,7 @@
+package com.lingoguma.detective_backend.game.entity;
+
+public enum AnalysisStatus {
+    PENDING,   // 결과 저장됨, NLP 분석 대기/진행 중
+    DONE,      // skillsJson 확정
+    FAILED     // 분석 실패 (skills 0점 처리)
+}
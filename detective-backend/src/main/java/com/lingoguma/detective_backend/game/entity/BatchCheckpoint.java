@@ -0,0 +1,41 @@
+package com.lingoguma.detective_backend.game.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배치 작업 진행 위치 (작업 이름당 1행)
+ * - lastId: 여기까지(포함) 처리 완료 → 재시작 시 lastId 다음부터 이어서 처리
+ */
+@Entity
+@Table(name = "batch_checkpoints")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class BatchCheckpoint {
+
+    @Id
+    @Column(length = 50)
+    private String jobName;
+
+    private Long lastId;
+
+    private long processed;
+    private long failed;
+
+    @Column(length = 20)
+    private String status;       // RUNNING, STOPPED, DONE, FAILED
+
+    @Column(length = 255)
+    private String note;         // 실행 파라미터 / 마지막 오류 등
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -6,7 +6,32 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "game_results")
+@Table(
+        name = "game_results",
+        indexes = {
+                // 리더보드 keyset 페이지: (점수 desc, resultId desc) 순회
+                @Index(name = "idx_gr_total", columnList = "totalScore, resultId"),
+                @Index(name = "idx_gr_logic", columnList = "logic, resultId"),
+                @Index(name = "idx_gr_creativity", columnList = "creativity, resultId"),
+                @Index(name = "idx_gr_focus", columnList = "focus, resultId"),
+                @Index(name = "idx_gr_diversity", columnList = "diversity, resultId"),
+                @Index(name = "idx_gr_depth", columnList = "depth, resultId"),
+                @Index(name = "idx_gr_scen_total", columnList = "scenIdx, totalScore, resultId"),
+                @Index(name = "idx_gr_scen_logic", columnList = "scenIdx, logic, resultId"),
+                @Index(name = "idx_gr_scen_creativity", columnList = "scenIdx, creativity, resultId"),
+                @Index(name = "idx_gr_scen_focus", columnList = "scenIdx, focus, resultId"),
+                @Index(name = "idx_gr_scen_diversity", columnList = "scenIdx, diversity, resultId"),
+                @Index(name = "idx_gr_scen_depth", columnList = "scenIdx, depth, resultId"),
+                // 유저별 기록/통계 재구성
+                @Index(name = "idx_gr_user", columnList = "userIdx, resultId"),
+                // 기록 목록 keyset 페이지 필터 (시나리오/기간)
+                @Index(name = "idx_gr_user_scen", columnList = "userIdx, scenIdx, resultId"),
+                @Index(name = "idx_gr_scen", columnList = "scenIdx, resultId"),
+                @Index(name = "idx_gr_created", columnList = "createdAt"),
+                // 백분위 스냅샷 신선도 (시나리오별 max(updatedAt))
+                @Index(name = "idx_gr_scen_updated", columnList = "scenIdx, updatedAt")
+        }
+)
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class GameResult {
@@ -25,8 +50,20 @@ public class GameResult {
     @Column(columnDefinition = "JSON")
     private String skillsJson;   // 스킬 점수 JSON 한 줄
 
+    // skillsJson 정규화 컬럼 (정렬/집계용, 분석 전이면 null)
+    private Integer logic;
+    private Integer creativity;
+    private Integer focus;
+    private Integer diversity;
+    private Integer depth;
+    private Integer totalScore;  // 다섯 항목 합 (0~500)
+
     private boolean isCorrect;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private AnalysisStatus analysisStatus; // null = 비동기 분석 도입 이전 행 (DONE 취급)
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
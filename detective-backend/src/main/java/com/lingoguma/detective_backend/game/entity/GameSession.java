@@ -21,6 +21,9 @@ public class GameSession {
     @JoinColumn(name = "scen_idx", nullable = false)
     private Scenario scenario;
 
+    @Column(name = "scen_version_id")
+    private Integer scenVersionId; // 시작 시 고정된 시나리오 버전 (scenario_versions), 이전 세션은 첫 조회 때 채움
+
     @ManyToOne
     @JoinColumn(name = "user_idx")
     private User user;           // 비로그인 플레이어의 경우 null
@@ -32,6 +35,9 @@ public class GameSession {
     @Column(columnDefinition = "JSON")
     private String logJson;      // 세션 로그 JSON 한 줄 저장
 
+    @Column(columnDefinition = "JSON")
+    private String metricsJson;  // 진행 중 누적 지표 (SessionMetrics), 질문마다 갱신
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
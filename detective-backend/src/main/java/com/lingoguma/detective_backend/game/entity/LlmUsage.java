@@ -0,0 +1,54 @@
+package com.lingoguma.detective_backend.game.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * GPT 사용량 원장 (일자 × 세션 단위 누적)
+ * - 세션은 유저/시나리오가 고정이므로 userIdx/scenIdx는 집계용으로 함께 저장
+ */
+@Entity
+@Table(
+        name = "llm_usage",
+        uniqueConstraints = @UniqueConstraint(name = "uk_llm_usage_date_session", columnNames = {"usageDate", "sessionId"}),
+        indexes = @Index(name = "idx_llm_usage_date_user", columnList = "usageDate, userIdx")
+)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class LlmUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long usageId;
+
+    @Column(nullable = false)
+    private LocalDate usageDate;
+
+    @Column(nullable = false)
+    private Integer sessionId;
+
+    private Integer userIdx;     // 게스트면 null
+    private Integer scenIdx;
+
+    private long calls;
+    private long promptTokens;
+    private long completionTokens;
+    private long totalTokens;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
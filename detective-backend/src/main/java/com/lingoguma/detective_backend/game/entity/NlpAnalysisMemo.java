@@ -0,0 +1,34 @@
+package com.lingoguma.detective_backend.game.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * NLP 분석 결과 메모 (정규화 요청 해시 → 응답)
+ * - 같은 질문/정답/시나리오 맥락/엔진/모델 버전이면 같은 해시 → 재분석 없이 재사용
+ */
+@Entity
+@Table(name = "nlp_analysis_memo")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class NlpAnalysisMemo {
+
+    @Id
+    @Column(length = 64)
+    private String requestHash;   // SHA-256 hex
+
+    @Column(length = 20, nullable = false)
+    private String engine;
+
+    @Column(columnDefinition = "JSON", nullable = false)
+    private String responseJson;  // NlpAnalyzeResponse (skills/submetrics/engine)
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
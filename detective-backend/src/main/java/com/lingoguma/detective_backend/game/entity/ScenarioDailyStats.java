@@ -0,0 +1,60 @@
+package com.lingoguma.detective_backend.game.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일자 × 시나리오 집계 (관리자 통계용, DailyRollupService가 증분 갱신)
+ * - sessionsStarted: 그날 시작된 세션 수 (game_sessions.createdAt 기준)
+ * - resultsCount/solvedCount: 그날 끝난 게임 수 / 정답 수 (game_results.createdAt 기준)
+ * - scoredCount, sum*: 스킬 점수가 있는 결과 수와 합계 → 평균은 조회 시 계산
+ */
+@Entity
+@Table(
+        name = "scenario_daily_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sds_date_scen", columnNames = {"statDate", "scenIdx"}),
+        indexes = @Index(name = "idx_sds_scen_date", columnList = "scenIdx, statDate")
+)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class ScenarioDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long statId;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private Integer scenIdx;
+
+    private long sessionsStarted;
+    private long resultsCount;
+    private long solvedCount;
+    private long scoredCount;
+
+    private long sumLogic;
+    private long sumCreativity;
+    private long sumFocus;
+    private long sumDiversity;
+    private long sumDepth;
+    private long sumTotal;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
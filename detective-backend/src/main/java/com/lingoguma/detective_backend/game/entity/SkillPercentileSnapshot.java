@@ -0,0 +1,35 @@
+package com.lingoguma.detective_backend.game.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오별 스킬 점수 분포 스냅샷 (SkillPercentileService 재시작 복구용)
+ * - countsJson: {"logic":[101칸], ..., "total":[501칸]} 점수별 결과 수
+ * - watermark: 이 시각 이후 수정된 결과가 있으면 스냅샷 대신 DB에서 재구성
+ */
+@Entity
+@Table(name = "skill_percentile_snapshots")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class SkillPercentileSnapshot {
+
+    @Id
+    private Integer scenIdx;
+
+    @Column(columnDefinition = "JSON", nullable = false)
+    private String countsJson;
+
+    private long sampleCount;
+
+    private LocalDateTime watermark;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
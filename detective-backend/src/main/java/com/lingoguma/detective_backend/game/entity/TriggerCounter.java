@@ -0,0 +1,44 @@
+package com.lingoguma.detective_backend.game.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오별 트리거 누적 횟수 (TriggerHeatmap이 주기적으로 일괄 반영)
+ * - kind: EVIDENCE(증거 id) / TIME(타임라인 시각) / LOCATION(장소 이름) / LEVEL(L1~L3)
+ * - LEVEL 합계 = 해당 시나리오 질문 수
+ */
+@Entity
+@Table(
+        name = "trigger_counters",
+        uniqueConstraints = @UniqueConstraint(name = "uk_trigger_scen_kind_name", columnNames = {"scenIdx", "kind", "name"})
+)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class TriggerCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long counterId;
+
+    @Column(nullable = false)
+    private Integer scenIdx;
+
+    @Column(length = 10, nullable = false)
+    private String kind;
+
+    @Column(length = 100, nullable = false)
+    private String name;
+
+    private long hits;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,48 @@
+package com.lingoguma.detective_backend.game.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 유저별 누적 게임 통계 (마이페이지 요약용, 결과 저장/분석 완료 시 증분 갱신)
+ * - scoredCount: 스킬 점수가 있는 판 수 (분석 중/실패 제외) → 평균의 분모
+ * - sum*: 스킬 합계, best*: 스킬 최고점
+ */
+@Entity
+@Table(name = "user_game_stats")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class UserGameStats {
+
+    @Id
+    private Integer userIdx;
+
+    private long gamesPlayed;
+    private long solvedCount;
+    private long scoredCount;
+
+    private long sumLogic;
+    private long sumCreativity;
+    private long sumFocus;
+    private long sumDiversity;
+    private long sumDepth;
+    private long sumTotal;
+
+    private int bestLogic;
+    private int bestCreativity;
+    private int bestFocus;
+    private int bestDiversity;
+    private int bestDepth;
+    private int bestTotal;
+
+    private LocalDateTime lastPlayedAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,269 @@
+package com.lingoguma.detective_backend.game.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 게임 이벤트 저널 (로컬 append-only, MySQL 쓰기 없음)
+ * - 요청 스레드: emit → 링 버퍼 슬롯(long 4개) 예약(CAS) 후 기록, 락/객체 생성 없음
+ *   버퍼가 가득 차면 기다리지 않고 버림(dropped 집계)
+ * - 기록 스레드 1개: 슬롯을 순서대로 꺼내 memory-mapped 세그먼트 파일에 32바이트씩 기록
+ *   세그먼트가 차면 다음 파일로 넘기고 max-segments 초과분은 삭제, force-interval-ms 마다 디스크 동기화
+ * - 레코드 형식은 JournalRecord, 읽기는 JournalReader / JournalTail
+ */
+@Component
+public class GameJournal {
+
+    static final String PREFIX = "events-";
+    static final String SUFFIX = ".jnl";
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    @Value("${journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${journal.dir:journal}")
+    private String dir;
+
+    @Value("${journal.segment-mb:64}")
+    private int segmentMb;
+
+    @Value("${journal.max-segments:20}")
+    private int maxSegments;
+
+    @Value("${journal.ring-size:65536}")
+    private int ringSize;
+
+    @Value("${journal.force-interval-ms:1000}")
+    private long forceIntervalMs;
+
+    // 링 버퍼: 슬롯 i = slots[i*4 .. i*4+3], published[i] = 기록 완료된 시퀀스
+    private long[] slots;
+    private long[] published;
+    private int mask;
+    private final AtomicLong head = new AtomicLong();   // 다음 예약 시퀀스 (생산자들)
+    private volatile long tail = 0L;                     // 다음 기록 시퀀스 (기록 스레드만 증가)
+
+    private final LongAdder dropped = new LongAdder();
+    private volatile long written = 0L;
+    private volatile boolean running = false;
+    private Thread writer;
+
+    // 기록 스레드 전용 상태
+    private Path segmentPath;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private long segmentBytes;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) return;
+        int size = Integer.highestOneBit(Math.max(1024, ringSize));
+        slots = new long[size * 4];
+        published = new long[size];
+        Arrays.fill(published, -1L);
+        mask = size - 1;
+        segmentBytes = (long) Math.max(1, segmentMb) * 1024 * 1024 / JournalRecord.SIZE * JournalRecord.SIZE;
+
+        Files.createDirectories(Paths.get(dir));
+        openLastOrNew();
+
+        running = true;
+        writer = new Thread(this::writeLoop, "game-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ==============================
+    // 이벤트 기록 (요청 스레드, 원시값만 받음)
+    // ==============================
+    public void sessionStarted(int sessionId, int scenIdx, int userIdx) {
+        emit(JournalRecord.Type.SESSION_STARTED.code, 0, 0, sessionId, scenIdx, userIdx, 0, 0);
+    }
+
+    /** triggerLevel 1~3, evidence/times/locations = 트리거 개수, turn = 질문 번호 */
+    public void questionAsked(int sessionId, int scenIdx, int userIdx, int triggerLevel,
+                              int evidence, int times, int locations, int turn) {
+        int flags = (Math.min(times, 0xFF) << 8) | Math.min(locations, 0xFF);
+        emit(JournalRecord.Type.QUESTION_ASKED.code, triggerLevel, flags, sessionId, scenIdx, userIdx, evidence, turn);
+    }
+
+    public void answerReturned(int sessionId, int scenIdx, int userIdx, boolean busy, long latencyMs, long totalTokens) {
+        emit(JournalRecord.Type.ANSWER_RETURNED.code, busy ? 1 : 0, 0, sessionId, scenIdx, userIdx,
+                (int) Math.min(latencyMs, Integer.MAX_VALUE), (int) Math.min(totalTokens, Integer.MAX_VALUE));
+    }
+
+    public void resultSaved(int sessionId, int scenIdx, int userIdx, int resultId, boolean correct, boolean pending) {
+        emit(JournalRecord.Type.RESULT_SAVED.code, pending ? 1 : 0, 0, sessionId, scenIdx, userIdx, resultId, correct ? 1 : 0);
+    }
+
+    private void emit(int type, int code, int flags, int sessionId, int scenIdx, int userIdx, int a, int b) {
+        if (!running) return;
+        long seq;
+        do {
+            seq = head.get();
+            if (seq - tail >= published.length) {
+                dropped.increment(); // 기록 스레드가 밀림 → 요청은 막지 않음
+                return;
+            }
+        } while (!head.compareAndSet(seq, seq + 1));
+
+        int i = (int) (seq & mask);
+        int base = i << 2;
+        slots[base] = System.currentTimeMillis();
+        slots[base + 1] = JournalRecord.word1(type, code, flags, sessionId);
+        slots[base + 2] = JournalRecord.pack(scenIdx, userIdx);
+        slots[base + 3] = JournalRecord.pack(a, b);
+        LONGS.setRelease(published, i, seq);
+    }
+
+    // ==============================
+    // 기록 스레드
+    // ==============================
+    private void writeLoop() {
+        long lastForce = System.currentTimeMillis();
+        while (running || tail < head.get()) {
+            int drained = drain();
+            long now = System.currentTimeMillis();
+            if (now - lastForce >= forceIntervalMs) {
+                force();
+                lastForce = now;
+            }
+            if (drained == 0) {
+                if (!running && tail >= head.get()) break;
+                LockSupport.parkNanos(200_000L);
+            }
+        }
+        force();
+    }
+
+    private int drain() {
+        int n = 0;
+        long next = tail;
+        while (true) {
+            int i = (int) (next & mask);
+            if ((long) LONGS.getAcquire(published, i) != next) break;
+            int base = i << 2;
+            try {
+                append(slots[base], slots[base + 1], slots[base + 2], slots[base + 3]);
+            } catch (IOException e) {
+                System.err.println("게임 저널 기록 실패: " + e.getMessage());
+                dropped.increment();
+            }
+            next++;
+            tail = next; // 슬롯 반환
+            n++;
+        }
+        written += n;
+        return n;
+    }
+
+    private void append(long ts, long w1, long w2, long w3) throws IOException {
+        if (position + JournalRecord.SIZE > segmentBytes) {
+            roll();
+        }
+        // timestamp를 마지막에 써서 읽는 쪽이 ts != 0 이면 완성된 레코드로 볼 수 있게
+        segment.putLong(position + 8, w1);
+        segment.putLong(position + 16, w2);
+        segment.putLong(position + 24, w3);
+        segment.putLong(position, ts);
+        position += JournalRecord.SIZE;
+    }
+
+    private void force() {
+        try {
+            if (segment != null) segment.force();
+        } catch (Exception e) {
+            System.err.println("게임 저널 동기화 실패: " + e.getMessage());
+        }
+    }
+
+    // ==============================
+    // 세그먼트 관리
+    // ==============================
+    private void openLastOrNew() throws IOException {
+        List<Path> segments = JournalReader.segments(Paths.get(dir));
+        if (segments.isEmpty()) {
+            openSegment(newSegmentPath());
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        if (Files.size(last) != segmentBytes) {
+            // 세그먼트 크기 설정이 바뀌었으면 이어 쓰지 않고 새 파일
+            openSegment(newSegmentPath());
+            return;
+        }
+        openSegment(last);
+        // 이어 쓰기 위치: 첫 빈 칸
+        while (position + JournalRecord.SIZE <= segmentBytes && segment.getLong(position) != 0L) {
+            position += JournalRecord.SIZE;
+        }
+    }
+
+    private void roll() throws IOException {
+        force();
+        channel.close();
+        openSegment(newSegmentPath());
+        List<Path> segments = JournalReader.segments(Paths.get(dir));
+        for (int i = 0; i < segments.size() - Math.max(1, maxSegments); i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private void openSegment(Path path) throws IOException {
+        segmentPath = path;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        position = 0;
+    }
+
+    private Path newSegmentPath() {
+        Path p;
+        long t = System.currentTimeMillis();
+        do {
+            p = Paths.get(dir, PREFIX + String.format("%013d", t++) + SUFFIX);
+        } while (Files.exists(p));
+        return p;
+    }
+
+    // ==============================
+    // 종료: 남은 이벤트 기록 후 동기화
+    // ==============================
+    @PreDestroy
+    void stop() throws Exception {
+        if (!running) return;
+        running = false;
+        writer.join(5000);
+        if (channel != null) channel.close();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("written", written);
+        m.put("dropped", dropped.sum());
+        m.put("queued", head.get() - tail);
+        m.put("segment", segmentPath == null ? null : segmentPath.getFileName().toString());
+        return m;
+    }
+}
@@ -0,0 +1,99 @@
+package com.lingoguma.detective_backend.game.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 저널 세그먼트 읽기 (읽기 전용 mmap, 기록 중인 파일도 읽을 수 있음)
+ * - readAll: 현재까지 기록된 레코드를 오래된 순으로
+ * - follow : readAll 후 새 레코드를 계속 기다리며 전달 (JournalTail -f)
+ */
+public class JournalReader {
+
+    private final Path dir;
+
+    public JournalReader(Path dir) {
+        this.dir = dir;
+    }
+
+    /** 세그먼트 파일 목록 (이름 = 생성 시각 → 오래된 순) */
+    public static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> {
+                        String n = p.getFileName().toString();
+                        return n.startsWith(GameJournal.PREFIX) && n.endsWith(GameJournal.SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public long readAll(Consumer<JournalRecord> sink) throws IOException {
+        long n = 0;
+        for (Path seg : segments(dir)) {
+            MappedByteBuffer buf = map(seg);
+            for (int off = 0; off + JournalRecord.SIZE <= buf.capacity(); off += JournalRecord.SIZE) {
+                JournalRecord r = JournalRecord.read(buf, off);
+                if (r == null) break;
+                sink.accept(r);
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 마지막 세그먼트 끝에서부터 새 레코드를 계속 전달 (fromStart면 처음부터)
+     * - 현재 파일에서 빈 칸을 만났는데 더 새 세그먼트가 있으면 그 파일로 이동
+     */
+    public void follow(boolean fromStart, long pollMs, Consumer<JournalRecord> sink) throws IOException, InterruptedException {
+        List<Path> segs = segments(dir);
+        while (segs.isEmpty()) {
+            Thread.sleep(pollMs);
+            segs = segments(dir);
+        }
+        Path current = fromStart ? segs.get(0) : segs.get(segs.size() - 1);
+        MappedByteBuffer buf = map(current);
+        int off = 0;
+        if (!fromStart) {
+            while (off + JournalRecord.SIZE <= buf.capacity() && buf.getLong(off) != 0L) off += JournalRecord.SIZE;
+        }
+        while (!Thread.currentThread().isInterrupted()) {
+            JournalRecord r = off + JournalRecord.SIZE <= buf.capacity() ? JournalRecord.read(buf, off) : null;
+            if (r != null) {
+                sink.accept(r);
+                off += JournalRecord.SIZE;
+                continue;
+            }
+            Path next = nextSegment(current);
+            if (next != null) {
+                current = next;
+                buf = map(current);
+                off = 0;
+                continue;
+            }
+            Thread.sleep(pollMs);
+        }
+    }
+
+    private Path nextSegment(Path current) throws IOException {
+        for (Path p : segments(dir)) {
+            if (p.getFileName().toString().compareTo(current.getFileName().toString()) > 0) return p;
+        }
+        return null;
+    }
+
+    private static MappedByteBuffer map(Path seg) throws IOException {
+        try (FileChannel ch = FileChannel.open(seg, StandardOpenOption.READ)) {
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.lingoguma.detective_backend.game.journal;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 저널 레코드 한 건 (32바이트 고정, big-endian)
+ * <pre>
+ *  0  long  timestamp (epoch ms, 0 = 빈 칸/세그먼트 끝)
+ *  8  byte  type      (Type.code)
+ *  9  byte  code      (QUESTION: 트리거 레벨 1~3, ANSWER: 0 정상/1 대기열 초과, RESULT: 1 분석 대기)
+ * 10  short flags     (QUESTION: 시간 트리거 수 << 8 | 장소 트리거 수)
+ * 12  int   sessionId
+ * 16  int   scenIdx
+ * 20  int   userIdx   (0 = 게스트)
+ * 24  int   a         (QUESTION: 증거 트리거 수, ANSWER: 지연 ms, RESULT: resultId)
+ * 28  int   b         (QUESTION: 턴 번호, ANSWER: 총 토큰, RESULT: 정답 1/0)
+ * </pre>
+ */
+public record JournalRecord(long timestamp, Type type, int code, int flags,
+                            int sessionId, int scenIdx, int userIdx, int a, int b) {
+
+    public static final int SIZE = 32;
+
+    public enum Type {
+        SESSION_STARTED(1), QUESTION_ASKED(2), ANSWER_RETURNED(3), RESULT_SAVED(4), UNKNOWN(0);
+
+        public final int code;
+
+        Type(int code) {
+            this.code = code;
+        }
+
+        public static Type of(int code) {
+            for (Type t : values()) if (t.code == code) return t;
+            return UNKNOWN;
+        }
+    }
+
+    // ==============================
+    // 4개 long 으로 묶기/풀기 (링 버퍼 슬롯 = 파일 레이아웃)
+    // ==============================
+    static long word1(int type, int code, int flags, int sessionId) {
+        return ((long) (type & 0xFF) << 56) | ((long) (code & 0xFF) << 48)
+                | ((long) (flags & 0xFFFF) << 32) | (sessionId & 0xFFFFFFFFL);
+    }
+
+    static long pack(int hi, int lo) {
+        return ((long) hi << 32) | (lo & 0xFFFFFFFFL);
+    }
+
+    /** buf 의 offset 위치에서 한 건 읽기 (timestamp 0이면 null) */
+    public static JournalRecord read(ByteBuffer buf, int offset) {
+        long ts = buf.getLong(offset);
+        if (ts == 0L) return null;
+        long w1 = buf.getLong(offset + 8);
+        long w2 = buf.getLong(offset + 16);
+        long w3 = buf.getLong(offset + 24);
+        return new JournalRecord(ts,
+                Type.of((int) (w1 >>> 56) & 0xFF), (int) (w1 >>> 48) & 0xFF, (int) (w1 >>> 32) & 0xFFFF, (int) w1,
+                (int) (w2 >>> 32), (int) w2,
+                (int) (w3 >>> 32), (int) w3);
+    }
+
+    @Override
+    public String toString() {
+        String when = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).toString();
+        String who = "session=" + sessionId + " scen=" + scenIdx + " user=" + (userIdx == 0 ? "guest" : userIdx);
+        return when + " " + type + " " + who + switch (type) {
+            case QUESTION_ASKED -> " level=L" + code + " evidence=" + a
+                    + " times=" + (flags >>> 8) + " locations=" + (flags & 0xFF) + " turn=" + b;
+            case ANSWER_RETURNED -> (code == 0 ? "" : " busy") + " latencyMs=" + a + " tokens=" + b;
+            case RESULT_SAVED -> " resultId=" + a + " correct=" + (b == 1) + (code == 1 ? " pending" : "");
+            default -> "";
+        };
+    }
+}
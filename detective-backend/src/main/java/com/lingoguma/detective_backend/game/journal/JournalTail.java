@@ -0,0 +1,36 @@
+package com.lingoguma.detective_backend.game.journal;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 저널 확인용 CLI (Spring 없이 실행)
+ * <pre>
+ *   java -cp target/classes com.lingoguma.detective_backend.game.journal.JournalTail [dir] [-f] [--from-start]
+ *     dir          저널 디렉터리 (기본: journal)
+ *     -f           새 이벤트를 계속 출력 (기본: 현재까지 전부 출력 후 종료)
+ *     --from-start -f 와 함께 쓰면 처음부터 출력 후 계속
+ * </pre>
+ */
+public class JournalTail {
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Paths.get("journal");
+        boolean follow = false;
+        boolean fromStart = false;
+        for (String a : args) {
+            switch (a) {
+                case "-f" -> follow = true;
+                case "--from-start" -> fromStart = true;
+                default -> dir = Paths.get(a);
+            }
+        }
+        JournalReader reader = new JournalReader(dir);
+        if (follow) {
+            reader.follow(fromStart, 200, System.out::println);
+        } else {
+            long n = reader.readAll(System.out::println);
+            System.err.println(n + " records");
+        }
+    }
+}
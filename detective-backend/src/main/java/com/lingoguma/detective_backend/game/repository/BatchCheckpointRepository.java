@@ -0,0 +1,7 @@
+package com.lingoguma.detective_backend.game.repository;
+
+import com.lingoguma.detective_backend.game.entity.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+}
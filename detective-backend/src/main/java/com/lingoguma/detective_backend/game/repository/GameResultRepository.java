@@ -1,19 +1,42 @@
 package com.lingoguma.detective_backend.game.repository;
 
+import com.lingoguma.detective_backend.game.entity.AnalysisStatus;
 import com.lingoguma.detective_backend.game.entity.GameResult;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface GameResultRepository extends JpaRepository<GameResult, Integer> {
-    // 특정 유저의 모든 게임 조회
-    List<GameResult> findByUserIdx(Integer userIdx);
-
     // 세션 ID 기반 단일 결과 조회
     Optional<GameResult> findBySessionId(Integer sessionId);
     Optional<GameResult> findTopBySessionIdOrderByResultIdDesc(Integer sessionId);
+
+    // 재시작 시 분석이 끝나지 않은 결과 재처리
+    List<GameResult> findByAnalysisStatus(AnalysisStatus analysisStatus);
+
+    // 큐 거절 등으로 남은 PENDING 재등록 (방금 저장된 행은 createdAt 기준 제외)
+    List<GameResult> findTop200ByAnalysisStatusAndCreatedAtBeforeOrderByResultIdAsc(
+            AnalysisStatus analysisStatus, LocalDateTime createdAt);
+
+    // 일괄 재채점: 세션 묶음의 결과 한 번에 조회
+    List<GameResult> findBySessionIdIn(Collection<Integer> sessionIds);
+
+    // 정규화 컬럼 백필: 점수는 있는데 totalScore가 비어 있는 비동기 분석 도입 이전 행 (id 순)
+    //  - FAILED는 0점 skillsJson + 빈 컬럼이 정상이므로 제외
+    List<GameResult> findTop500BySkillsJsonIsNotNullAndTotalScoreIsNullAndAnalysisStatusIsNullAndResultIdGreaterThanOrderByResultIdAsc(Integer afterId);
+
+    // 이전 백필이 0점으로 채운 FAILED 행 정리 (id 순)
+    List<GameResult> findTop500ByAnalysisStatusAndTotalScoreIsNotNullAndResultIdGreaterThanOrderByResultIdAsc(
+            AnalysisStatus analysisStatus, Integer afterId);
+
+    // 분포 스냅샷 신선도: 시나리오별 마지막 결과 수정 시각 (idx_gr_scen_updated)
+    @Query("select r.scenIdx, max(r.updatedAt) from GameResult r where r.scenIdx is not null group by r.scenIdx")
+    List<Object[]> lastUpdatedByScenario();
 }
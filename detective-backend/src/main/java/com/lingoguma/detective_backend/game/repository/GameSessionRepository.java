@@ -1,9 +1,13 @@
 package com.lingoguma.detective_backend.game.repository;
 
 import com.lingoguma.detective_backend.game.entity.GameSession;
+import com.lingoguma.detective_backend.game.entity.GameStatus;
 import com.lingoguma.detective_backend.user.entity.User;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -15,4 +19,8 @@ public interface GameSessionRepository extends JpaRepository<GameSession, Intege
 
     // 특정 시나리오에 연결된 모든 세션 삭제
     void deleteByScenario_ScenIdx(Integer scenIdx);
+
+    // 일괄 재채점: 상태별 세션 id를 id 순으로 (keyset 페이지)
+    @Query("select s.sessionId from GameSession s where s.status = :status and s.sessionId > :afterId order by s.sessionId")
+    List<Integer> findIdsByStatusAfter(@Param("status") GameStatus status, @Param("afterId") Integer afterId, Pageable pageable);
 }
@@ -0,0 +1,24 @@
+package com.lingoguma.detective_backend.game.repository;
+
+import com.lingoguma.detective_backend.game.entity.LlmUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface LlmUsageRepository extends JpaRepository<LlmUsage, Long> {
+
+    // 일괄 flush 시 기존 행 한 번에 조회
+    List<LlmUsage> findByUsageDateAndSessionIdIn(LocalDate usageDate, Collection<Integer> sessionIds);
+
+    // 일자별 원장 조회 (관리자)
+    List<LlmUsage> findByUsageDateOrderByTotalTokensDesc(LocalDate usageDate);
+
+    // 유저별 일일 호출 수 [userIdx, sum(calls)] (시작 시 쿼터 카운터 초기값, 한 번에)
+    @Query("select u.userIdx, sum(u.calls) from LlmUsage u"
+            + " where u.usageDate = :date and u.userIdx is not null group by u.userIdx")
+    List<Object[]> sumCallsByUser(@Param("date") LocalDate date);
+}
@@ -0,0 +1,7 @@
+package com.lingoguma.detective_backend.game.repository;
+
+import com.lingoguma.detective_backend.game.entity.NlpAnalysisMemo;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NlpAnalysisMemoRepository extends JpaRepository<NlpAnalysisMemo, String> {
+}
@@ -0,0 +1,26 @@
+package com.lingoguma.detective_backend.game.repository;
+
+import com.lingoguma.detective_backend.game.entity.ScenarioDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ScenarioDailyStatsRepository extends JpaRepository<ScenarioDailyStats, Long> {
+
+    // 증분 반영 대상 (한 번에 묶어서 조회)
+    List<ScenarioDailyStats> findByStatDateIn(Collection<LocalDate> dates);
+
+    // 일자별 조회
+    List<ScenarioDailyStats> findByStatDateBetweenOrderByStatDateAscScenIdxAsc(LocalDate from, LocalDate to);
+    List<ScenarioDailyStats> findByScenIdxAndStatDateBetweenOrderByStatDateAsc(Integer scenIdx, LocalDate from, LocalDate to);
+
+    // 기간 합계 (시나리오별): scenIdx, sessionsStarted, resultsCount, solvedCount, scoredCount, sum 5종, sumTotal
+    @Query("select d.scenIdx, sum(d.sessionsStarted), sum(d.resultsCount), sum(d.solvedCount), sum(d.scoredCount),"
+            + " sum(d.sumLogic), sum(d.sumCreativity), sum(d.sumFocus), sum(d.sumDiversity), sum(d.sumDepth), sum(d.sumTotal)"
+            + " from ScenarioDailyStats d where d.statDate between :from and :to group by d.scenIdx order by d.scenIdx")
+    List<Object[]> sumByScenario(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,16 @@
+package com.lingoguma.detective_backend.game.repository;
+
+import com.lingoguma.detective_backend.game.entity.TriggerCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TriggerCounterRepository extends JpaRepository<TriggerCounter, Long> {
+
+    // 일괄 flush 시 기존 행 한 번에 조회
+    List<TriggerCounter> findByScenIdxIn(Collection<Integer> scenIdxs);
+
+    // 히트맵 조회
+    List<TriggerCounter> findByScenIdx(Integer scenIdx);
+}
@@ -0,0 +1,18 @@
+package com.lingoguma.detective_backend.game.repository;
+
+import com.lingoguma.detective_backend.game.entity.UserGameStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface UserGameStatsRepository extends JpaRepository<UserGameStats, Integer> {
+
+    // 증분 갱신: 같은 유저의 동시 저장/분석 완료 직렬화
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserGameStats s where s.userIdx = :userIdx")
+    Optional<UserGameStats> findForUpdate(@Param("userIdx") Integer userIdx);
+}
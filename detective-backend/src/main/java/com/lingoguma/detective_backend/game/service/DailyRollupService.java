@@ -0,0 +1,285 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.entity.AnalysisStatus;
+import com.lingoguma.detective_backend.game.entity.BatchCheckpoint;
+import com.lingoguma.detective_backend.game.entity.ScenarioDailyStats;
+import com.lingoguma.detective_backend.game.repository.BatchCheckpointRepository;
+import com.lingoguma.detective_backend.game.repository.ScenarioDailyStatsRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 일자 × 시나리오 집계 (scenario_daily_stats) 증분 갱신 + 조회
+ * - 세션/결과 각각 batch_checkpoints 에 마지막 처리 id(high-water mark)를 두고 그 이후 행만 읽음
+ * - id는 insert 시점에 발급되고 커밋 순서는 다를 수 있으므로, createdAt이 commit-lag-seconds 이내인 행 앞에서 멈춤
+ *   (더 낮은 id가 나중에 커밋돼 high-water mark 뒤로 영영 빠지는 것 방지)
+ * - 청크마다 집계 반영 + 체크포인트 갱신을 한 트랜잭션으로 → 중단/재시작해도 중복 집계 없음
+ * - 결과는 분석 중(PENDING)인 행에서 멈췄다가 완료되면 이어서 반영
+ *   (pending-grace-minutes 보다 오래 PENDING이면 점수 없는 결과로 보고 진행)
+ * - 이미 반영된 결과의 재채점은 증분으로 따라가지 않음 → rebuild()로 전체 재집계
+ * - 조회는 집계 테이블만 읽음: O(일수 × 시나리오)
+ */
+@Service
+@RequiredArgsConstructor
+public class DailyRollupService {
+
+    public static final String SESSIONS_JOB = "rollup-daily-sessions";
+    public static final String RESULTS_JOB = "rollup-daily-results";
+    private static final int CHUNK = 2000;
+
+    private final EntityManager em;
+    private final ScenarioDailyStatsRepository statsRepo;
+    private final BatchCheckpointRepository checkpointRepo;
+    private final PlatformTransactionManager txManager;
+
+    @Value("${analytics.rollup.pending-grace-minutes:30}")
+    private long pendingGraceMinutes;
+
+    @Value("${analytics.rollup.commit-lag-seconds:120}")
+    private long commitLagSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // ==============================
+    // 주기 실행 (이전 실행이 끝나지 않았으면 건너뜀)
+    // ==============================
+    @Scheduled(initialDelayString = "${analytics.rollup.initial-delay-ms:60000}",
+               fixedDelayString = "${analytics.rollup.interval-ms:300000}")
+    public void scheduledRun() {
+        if (!lock.tryLock()) return;
+        try {
+            runOnce();
+        } catch (Exception e) {
+            System.err.println("일자별 집계 실패: " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 집계 테이블/체크포인트 초기화 후 처음부터 다시 집계 (재채점 이후 등)
+     */
+    public Map<String, Object> rebuild() {
+        lock.lock();
+        try {
+            TransactionTemplate tx = new TransactionTemplate(txManager);
+            tx.executeWithoutResult(status -> {
+                statsRepo.deleteAllInBatch();
+                checkpointRepo.save(newCheckpoint(SESSIONS_JOB));
+                checkpointRepo.save(newCheckpoint(RESULTS_JOB));
+            });
+            runOnce();
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        for (String job : List.of(SESSIONS_JOB, RESULTS_JOB)) {
+            BatchCheckpoint cp = checkpointRepo.findById(job).orElse(null);
+            Map<String, Object> j = new LinkedHashMap<>();
+            j.put("lastId", cp == null ? 0L : cp.getLastId());
+            j.put("processed", cp == null ? 0L : cp.getProcessed());
+            j.put("updatedAt", cp == null ? null : cp.getUpdatedAt());
+            m.put(job, j);
+        }
+        return m;
+    }
+
+    // ==============================
+    // 조회: 일자별 (scenIdx null이면 전체 시나리오)
+    // ==============================
+    public List<Map<String, Object>> daily(LocalDate from, LocalDate to, Integer scenIdx) {
+        List<ScenarioDailyStats> rows = scenIdx == null
+                ? statsRepo.findByStatDateBetweenOrderByStatDateAscScenIdxAsc(from, to)
+                : statsRepo.findByScenIdxAndStatDateBetweenOrderByStatDateAsc(scenIdx, from, to);
+        List<Map<String, Object>> out = new ArrayList<>(rows.size());
+        for (ScenarioDailyStats d : rows) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("date", d.getStatDate());
+            m.put("scenIdx", d.getScenIdx());
+            putMetrics(m, d.getSessionsStarted(), d.getResultsCount(), d.getSolvedCount(), d.getScoredCount(),
+                    new long[]{d.getSumLogic(), d.getSumCreativity(), d.getSumFocus(), d.getSumDiversity(), d.getSumDepth(), d.getSumTotal()});
+            out.add(m);
+        }
+        return out;
+    }
+
+    // ==============================
+    // 조회: 기간 합계 (시나리오별)
+    // ==============================
+    public List<Map<String, Object>> byScenario(LocalDate from, LocalDate to) {
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (Object[] r : statsRepo.sumByScenario(from, to)) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("scenIdx", r[0]);
+            long[] sums = new long[6];
+            for (int i = 0; i < 6; i++) sums[i] = num(r[5 + i]);
+            putMetrics(m, num(r[1]), num(r[2]), num(r[3]), num(r[4]), sums);
+            out.add(m);
+        }
+        return out;
+    }
+
+    // ==============================
+    // 증분 실행: 세션 → 결과, 각각 남은 행이 없을 때까지 청크 반복
+    // ==============================
+    private void runOnce() {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        while (Boolean.TRUE.equals(tx.execute(status -> rollupSessionsChunk()))) { }
+        while (Boolean.TRUE.equals(tx.execute(status -> rollupResultsChunk()))) { }
+    }
+
+    /** @return 다음 청크가 더 있을 수 있으면 true */
+    private boolean rollupSessionsChunk() {
+        BatchCheckpoint cp = checkpointRepo.findById(SESSIONS_JOB).orElseGet(() -> newCheckpoint(SESSIONS_JOB));
+        List<Object[]> rows = em.createQuery(
+                "select s.sessionId, sc.scenIdx, s.createdAt from GameSession s join s.scenario sc"
+                        + " where s.sessionId > :after order by s.sessionId", Object[].class)
+                .setParameter("after", cp.getLastId().intValue())
+                .setMaxResults(CHUNK)
+                .getResultList();
+
+        // 커밋 지연 구간(최근 commit-lag-seconds) 행 앞에서 멈춤
+        LocalDateTime commitLimit = LocalDateTime.now().minusSeconds(commitLagSeconds);
+        int end = 0;
+        while (end < rows.size() && !tooRecent((LocalDateTime) rows.get(end)[2], commitLimit)) end++;
+        if (end == 0) return false;
+        List<Object[]> ready = rows.subList(0, end);
+
+        Map<String, ScenarioDailyStats> touched = loadFor(ready, 2, 1);
+        for (Object[] r : ready) {
+            ScenarioDailyStats d = touched.get(key(r[2], r[1]));
+            if (d != null) d.setSessionsStarted(d.getSessionsStarted() + 1);
+        }
+        statsRepo.saveAll(touched.values());
+        advance(cp, ((Number) ready.get(ready.size() - 1)[0]).longValue(), ready.size());
+        return end == CHUNK;
+    }
+
+    /** @return 다음 청크가 더 있을 수 있으면 true */
+    private boolean rollupResultsChunk() {
+        BatchCheckpoint cp = checkpointRepo.findById(RESULTS_JOB).orElseGet(() -> newCheckpoint(RESULTS_JOB));
+        List<Object[]> rows = em.createQuery(
+                "select r.resultId, r.scenIdx, r.createdAt, r.isCorrect, r.analysisStatus,"
+                        + " r.logic, r.creativity, r.focus, r.diversity, r.depth, r.totalScore"
+                        + " from GameResult r where r.resultId > :after order by r.resultId", Object[].class)
+                .setParameter("after", cp.getLastId().intValue())
+                .setMaxResults(CHUNK)
+                .getResultList();
+
+        // 커밋 지연 구간 행, 최근 PENDING 행 앞에서 멈춤 (분석 완료 후 다음 실행에서 반영)
+        LocalDateTime commitLimit = LocalDateTime.now().minusSeconds(commitLagSeconds);
+        LocalDateTime graceLimit = LocalDateTime.now().minusMinutes(pendingGraceMinutes);
+        int end = 0;
+        while (end < rows.size()) {
+            Object[] r = rows.get(end);
+            LocalDateTime createdAt = (LocalDateTime) r[2];
+            if (tooRecent(createdAt, commitLimit)) break;
+            if (r[4] == AnalysisStatus.PENDING && createdAt != null && createdAt.isAfter(graceLimit)) break;
+            end++;
+        }
+        if (end == 0) return false;
+        List<Object[]> ready = rows.subList(0, end);
+
+        Map<String, ScenarioDailyStats> touched = loadFor(ready, 2, 1);
+        for (Object[] r : ready) {
+            ScenarioDailyStats d = touched.get(key(r[2], r[1]));
+            if (d == null) continue;
+            d.setResultsCount(d.getResultsCount() + 1);
+            if (Boolean.TRUE.equals(r[3])) d.setSolvedCount(d.getSolvedCount() + 1);
+            if (r[10] != null) {
+                d.setScoredCount(d.getScoredCount() + 1);
+                d.setSumLogic(d.getSumLogic() + num(r[5]));
+                d.setSumCreativity(d.getSumCreativity() + num(r[6]));
+                d.setSumFocus(d.getSumFocus() + num(r[7]));
+                d.setSumDiversity(d.getSumDiversity() + num(r[8]));
+                d.setSumDepth(d.getSumDepth() + num(r[9]));
+                d.setSumTotal(d.getSumTotal() + num(r[10]));
+            }
+        }
+        statsRepo.saveAll(touched.values());
+        advance(cp, ((Number) ready.get(ready.size() - 1)[0]).longValue(), ready.size());
+        return end == CHUNK;
+    }
+
+    // ==============================
+    // 내부 유틸
+    // ==============================
+
+    // 청크에 등장하는 (일자, 시나리오) 집계 행을 한 번에 조회, 없으면 생성
+    private Map<String, ScenarioDailyStats> loadFor(List<Object[]> rows, int dateCol, int scenCol) {
+        Map<String, ScenarioDailyStats> byKey = new HashMap<>();
+        List<LocalDate> dates = rows.stream()
+                .filter(r -> r[dateCol] != null && r[scenCol] != null)
+                .map(r -> ((LocalDateTime) r[dateCol]).toLocalDate())
+                .distinct().toList();
+        if (dates.isEmpty()) return byKey;
+        for (ScenarioDailyStats d : statsRepo.findByStatDateIn(dates)) {
+            byKey.put(d.getStatDate() + ":" + d.getScenIdx(), d);
+        }
+        for (Object[] r : rows) {
+            if (r[dateCol] == null || r[scenCol] == null) continue;
+            LocalDate date = ((LocalDateTime) r[dateCol]).toLocalDate();
+            Integer scenIdx = (Integer) r[scenCol];
+            byKey.computeIfAbsent(date + ":" + scenIdx,
+                    k -> ScenarioDailyStats.builder().statDate(date).scenIdx(scenIdx).build());
+        }
+        return byKey;
+    }
+
+    // 아직 커밋 안 된 더 낮은 id가 있을 수 있는 구간 (createdAt 없는 행은 판단 불가 → 진행)
+    private static boolean tooRecent(LocalDateTime createdAt, LocalDateTime commitLimit) {
+        return createdAt != null && createdAt.isAfter(commitLimit);
+    }
+
+    private static String key(Object createdAt, Object scenIdx) {
+        if (createdAt == null || scenIdx == null) return "";
+        return ((LocalDateTime) createdAt).toLocalDate() + ":" + scenIdx;
+    }
+
+    private void advance(BatchCheckpoint cp, long lastId, int count) {
+        cp.setLastId(lastId);
+        cp.setProcessed(cp.getProcessed() + count);
+        cp.setStatus("DONE");
+        checkpointRepo.save(cp);
+    }
+
+    private static BatchCheckpoint newCheckpoint(String job) {
+        return BatchCheckpoint.builder().jobName(job).lastId(0L).status("DONE").startedAt(LocalDateTime.now()).build();
+    }
+
+    private static void putMetrics(Map<String, Object> m, long sessions, long results, long solved, long scored, long[] sums) {
+        m.put("sessionsStarted", sessions);
+        m.put("resultsCount", results);
+        m.put("solvedCount", solved);
+        m.put("solveRate", results == 0 ? 0.0 : Math.round(1000.0 * solved / results) / 10.0);
+        m.put("scoredCount", scored);
+        Map<String, Object> avg = new LinkedHashMap<>();
+        String[] keys = {"logic", "creativity", "focus", "diversity", "depth", "total"};
+        for (int i = 0; i < keys.length; i++) {
+            avg.put(keys[i], scored == 0 ? 0.0 : Math.round(10.0 * sums[i] / scored) / 10.0);
+        }
+        m.put("averages", avg);
+    }
+
+    private static long num(Object o) {
+        return o instanceof Number n ? n.longValue() : 0L;
+    }
+}
@@ -0,0 +1,182 @@
+package com.lingoguma.detective_backend.game.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * NLP 엔진별 서킷 브레이커 (최근 N건 기준 슬라이딩 윈도우)
+ * - CLOSED   : 정상 호출. 최소 호출 수 이상에서 실패율 또는 느린 호출 비율이 임계치를 넘으면 OPEN
+ * - OPEN     : 호출 없이 즉시 거절 → 상위에서 바로 보조 엔진으로 전환. openDurationMs 경과 후 HALF_OPEN
+ * - HALF_OPEN: 시험 호출(probe)만 허용. 모두 정상이면 CLOSED, 하나라도 실패/지연이면 다시 OPEN
+ * - 상태가 바뀔 때마다 세대(generation)를 올림. 허용 시 받은 세대와 다른 결과는 무시
+ *   (CLOSED에서 허용된 느린 호출이 OPEN → HALF_OPEN 뒤에 끝나도 시험 호출로 세지 않음)
+ */
+public class EngineCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public static final long REJECTED = -1L;     // tryAcquire 거절
+
+    private final String name;
+    private final int windowSize;
+    private final int minCalls;
+    private final double failureRateThreshold;   // 0~1
+    private final long slowCallMs;
+    private final double slowRateThreshold;      // 0~1
+    private final long openDurationMs;
+    private final int halfOpenProbes;
+
+    // 아래 상태는 모두 this 모니터로 보호
+    private State state = State.CLOSED;
+    private long generation = 0L;
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int pos = 0;
+    private int filled = 0;
+    private int failedCount = 0;
+    private int slowCount = 0;
+    private long openedAt = 0L;
+    private int probesInFlight = 0;
+    private int probeSuccesses = 0;
+    private long rejected = 0L;
+    private long transitions = 0L;
+
+    public EngineCircuitBreaker(String name, int windowSize, int minCalls, double failureRateThreshold,
+                                long slowCallMs, double slowRateThreshold, long openDurationMs, int halfOpenProbes) {
+        this.name = name;
+        this.windowSize = Math.max(1, windowSize);
+        this.minCalls = Math.max(1, Math.min(minCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallMs = slowCallMs;
+        this.slowRateThreshold = slowRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.failed = new boolean[this.windowSize];
+        this.slow = new boolean[this.windowSize];
+    }
+
+    /**
+     * 호출 허용 여부. 허용되면 현재 세대, 거절이면 REJECTED
+     * 허용된 호출은 반드시 받은 세대로 onSuccess/onFailure 중 하나를 보고해야 함
+     */
+    public synchronized long tryAcquire() {
+        long now = System.currentTimeMillis();
+        if (state == State.OPEN) {
+            if (now - openedAt < openDurationMs) {
+                rejected++;
+                return REJECTED;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probeSuccesses >= halfOpenProbes) {
+                rejected++;
+                return REJECTED;
+            }
+            probesInFlight++;
+        }
+        return generation;
+    }
+
+    public synchronized void onSuccess(long permit, long durationMs) {
+        if (permit != generation) return; // 허용 뒤 상태가 바뀜 → 이전 세대 결과 무시
+        boolean isSlow = durationMs >= slowCallMs;
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (isSlow) {
+                open();
+                return;
+            }
+            if (++probeSuccesses >= halfOpenProbes) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(false, isSlow);
+            evaluate();
+        }
+    }
+
+    public synchronized void onFailure(long permit, long durationMs) {
+        if (permit != generation) return;
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            open();
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true, durationMs >= slowCallMs);
+            evaluate();
+        }
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("engine", name);
+        m.put("state", state.name());
+        m.put("windowCalls", filled);
+        m.put("failureRate", filled == 0 ? 0.0 : failedCount / (double) filled);
+        m.put("slowRate", filled == 0 ? 0.0 : slowCount / (double) filled);
+        m.put("rejectedCalls", rejected);
+        m.put("transitions", transitions);
+        if (state == State.OPEN) {
+            m.put("retryInMs", Math.max(0L, openDurationMs - (System.currentTimeMillis() - openedAt)));
+        }
+        return m;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // ==============================
+    // 내부 유틸
+    // ==============================
+    private void record(boolean isFailed, boolean isSlow) {
+        if (filled == windowSize) {
+            if (failed[pos]) failedCount--;
+            if (slow[pos]) slowCount--;
+        } else {
+            filled++;
+        }
+        failed[pos] = isFailed;
+        slow[pos] = isSlow;
+        if (isFailed) failedCount++;
+        if (isSlow) slowCount++;
+        pos = (pos + 1) % windowSize;
+    }
+
+    private void evaluate() {
+        if (filled < minCalls) return;
+        double failureRate = failedCount / (double) filled;
+        double slowRate = slowCount / (double) filled;
+        if (failureRate >= failureRateThreshold || slowRate >= slowRateThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        openedAt = System.currentTimeMillis();
+        transition(State.OPEN);
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            System.err.println("NLP 서킷 브레이커(" + name + "): " + state + " → " + next);
+            transitions++;
+            generation++;
+        }
+        state = next;
+        if (next != State.OPEN) {
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (next == State.CLOSED) {
+            // 새 윈도우로 다시 시작
+            java.util.Arrays.fill(failed, false);
+            java.util.Arrays.fill(slow, false);
+            pos = filled = failedCount = slowCount = 0;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.entity.AnalysisStatus;
+import com.lingoguma.detective_backend.game.entity.GameResult;
+import com.lingoguma.detective_backend.game.repository.GameResultRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 비동기 분석 완료 알림 (SSE)
+ * - 클라이언트는 /api/game-results/{resultId}/events 구독 → 분석이 끝나면 "analysis" 이벤트 1회 수신 후 종료
+ * - 폴링 클라이언트는 /api/game-results/{resultId}/status 사용
+ */
+@Component
+@RequiredArgsConstructor
+public class GameAnalysisNotifier {
+
+    private static final long SSE_TIMEOUT_MS = 120_000L;
+
+    private final GameResultRepository repo;
+    private final ConcurrentHashMap<Integer, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Integer resultId) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        List<SseEmitter> list = subscribers.computeIfAbsent(resultId, k -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+        Runnable cleanup = () -> {
+            list.remove(emitter);
+            subscribers.computeIfPresent(resultId, (k, v) -> v.isEmpty() ? null : v);
+        };
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+
+        // 구독 등록 후 상태 확인 → 이미 끝난 분석이면 바로 전송 (등록 전 완료된 경우 누락 방지)
+        repo.findById(resultId).ifPresent(gr -> {
+            if (gr.getAnalysisStatus() != AnalysisStatus.PENDING) {
+                send(emitter, gr);
+            }
+        });
+        return emitter;
+    }
+
+    public void publish(GameResult gr) {
+        List<SseEmitter> list = subscribers.remove(gr.getResultId());
+        if (list == null) return;
+        for (SseEmitter emitter : list) {
+            send(emitter, gr);
+        }
+    }
+
+    private void send(SseEmitter emitter, GameResult gr) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("analysis")
+                    .data(Map.of(
+                            "resultId", gr.getResultId(),
+                            "analysisStatus", String.valueOf(gr.getAnalysisStatus())
+                    )));
+            emitter.complete();
+        } catch (Exception ignore) {
+            // 이미 끊긴 연결 / 중복 전송
+        }
+    }
+}
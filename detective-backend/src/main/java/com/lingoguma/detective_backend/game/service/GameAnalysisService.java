@@ -0,0 +1,316 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeRequest;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeResponse;
+import com.lingoguma.detective_backend.game.entity.AnalysisStatus;
+import com.lingoguma.detective_backend.game.entity.GameResult;
+import com.lingoguma.detective_backend.game.repository.GameResultRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioSnapshot;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사건 종료 후 NLP 분석 파이프라인
+ * - buildAnalyzeRequest: 세션 로그 + 시나리오(사건 개요/단서/정답 메타)로 분석 요청 구성
+ * - analyzeSkills: hf 우선 헤지 호출(GameNlpClient.analyzeHedged), 0~100 정수 점수로 보정
+ *   헤지 호출까지 실패하면 SkillScorer(프로세스 내 채점)로 대체 → NLP 서버 장애에도 0점 저장 안 함
+ * - submit: 분석 워커 풀(nlpAnalysisExecutor)에서 실행 후 결과(PENDING → DONE/FAILED) 갱신 + 구독자 알림
+ *   큐가 가득 차 거절되면 PENDING으로 두고 requeuePending이 주기적으로 다시 등록 (요청 스레드는 채점 안 함)
+ */
+@Service
+public class GameAnalysisService {
+
+    public static final String[] SKILL_KEYS = {"logic", "creativity", "focus", "diversity", "depth"};
+
+    private final GameSessionService sessionService;
+    private final GameResultService resultService;
+    private final GameResultRepository resultRepository;
+    private final GameNlpClient nlpClient;
+    private final GameAnalysisNotifier notifier;
+    private final NlpPayloadCompactor compactor;
+    private final SkillScorer skillScorer;
+    private final ObjectMapper mapper;
+    private final TaskExecutor executor;
+
+    @Value("${nlp.worker.requeue-grace-seconds:30}")
+    private long requeueGraceSeconds;   // 이보다 최근 결과는 finish의 submit에 맡김
+
+    // 큐에 있거나 분석 중인 resultId (중복 등록 방지)
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+
+    public GameAnalysisService(GameSessionService sessionService,
+                               GameResultService resultService,
+                               GameResultRepository resultRepository,
+                               GameNlpClient nlpClient,
+                               GameAnalysisNotifier notifier,
+                               NlpPayloadCompactor compactor,
+                               SkillScorer skillScorer,
+                               ObjectMapper mapper,
+                               @Qualifier("nlpAnalysisExecutor") TaskExecutor executor) {
+        this.sessionService = sessionService;
+        this.resultService = resultService;
+        this.resultRepository = resultRepository;
+        this.nlpClient = nlpClient;
+        this.notifier = notifier;
+        this.compactor = compactor;
+        this.skillScorer = skillScorer;
+        this.mapper = mapper;
+        this.executor = executor;
+    }
+
+    // ==============================
+    // NLP 요청 DTO 구성
+    // ==============================
+    public NlpAnalyzeRequest buildAnalyzeRequest(Integer sessionId,
+                                                 Map<String, Object> finalAnswer,
+                                                 Map<String, Object> timings) throws Exception {
+        // 1. 세션 로그
+        String logJsonStr = sessionService.getLogJson(sessionId);
+
+        NlpAnalyzeRequest analyzeReq = new NlpAnalyzeRequest();
+        analyzeReq.setSessionId(sessionId);
+        analyzeReq.setLogJson(safeToMap(logJsonStr));
+        analyzeReq.setSessionMetrics(sessionService.getMetrics(sessionId)); // java 채점은 누적 지표 사용
+
+        // 2. 시나리오 맥락 + 정답 메타 (세션에 고정된 버전 기준, 버전별로 한 번만 계산)
+        ScenarioSnapshot scenario = sessionService.getSnapshot(sessionId);
+        CaseContext ctx = scenario.derive("nlp.context", this::buildCaseContext);
+
+        analyzeReq.setCaseTitle(ctx.caseTitle());
+        analyzeReq.setCaseSummary(ctx.caseSummary());
+        analyzeReq.setFacts(ctx.facts());
+        analyzeReq.setFinalAnswer(finalAnswer);
+        analyzeReq.setTimings(timings);
+        analyzeReq.setEngine("hf");
+        analyzeReq.setGoldAnswer(ctx.gold()); // NLP로 함께 전달
+        analyzeReq.setContextRef(ctx.contextRef());
+        return analyzeReq;
+    }
+
+    // 버전 내용에서만 계산되는 분석 맥락 (요청 간 공유 → 읽기 전용)
+    private record CaseContext(String caseTitle, String caseSummary, List<String> facts,
+                               Map<String, Object> gold, String contextRef) {}
+
+    @SuppressWarnings("unchecked")
+    private CaseContext buildCaseContext(ScenarioSnapshot scenario) {
+        Map<String, Object> content = scenario.getContent();
+
+        Map<String, Object> scenMeta = (Map<String, Object>) content.getOrDefault("scenario", Map.of());
+        String caseTitle = (String) scenMeta.getOrDefault("title", scenario.getScenTitle());
+        String caseSummary = (String) scenMeta.getOrDefault("summary", scenario.getScenSummary());
+
+        List<String> facts = new ArrayList<>();
+        List<Map<String, Object>> characters =
+                (List<Map<String, Object>>) content.getOrDefault("characters", List.of());
+        for (Map<String, Object> ch : characters) {
+            Object alibi = ch.get("alibi");
+            if (alibi != null) {
+                facts.add(ch.getOrDefault("name", "") + " 알리바이: " + alibi.toString());
+            }
+        }
+
+        List<Map<String, Object>> evidence =
+                (List<Map<String, Object>>) content.getOrDefault("evidence", List.of());
+        for (Map<String, Object> ev : evidence) {
+            String name = String.valueOf(ev.getOrDefault("name", ""));
+            String desc = String.valueOf(ev.getOrDefault("desc", ""));
+            if (!name.isBlank()) {
+                facts.add("증거: " + name + (desc.isBlank() ? "" : " - " + desc));
+            }
+        }
+
+        List<Map<String, Object>> timeline =
+                (List<Map<String, Object>>) content.getOrDefault("timeline", List.of());
+        for (Map<String, Object> t : timeline) {
+            String time = String.valueOf(t.getOrDefault("time", ""));
+            String event = String.valueOf(t.getOrDefault("event", ""));
+            if (!time.isBlank() && !event.isBlank()) {
+                facts.add("타임라인 " + time + ": " + event);
+            }
+        }
+
+        if (facts.size() > 12) {
+            facts = facts.subList(0, 12);
+        }
+
+        // 정답 메타(goldAnswer) 구성
+        Map<String, Object> answer = (Map<String, Object>) content.getOrDefault("answer", Map.of());
+        String realCulpritId = (String) answer.getOrDefault("culprit", null);
+
+        // 범인 이름 찾아주기
+        String culpritName = null;
+        if (realCulpritId != null) {
+            culpritName = characters.stream()
+                    .filter(c -> realCulpritId.equals(String.valueOf(c.get("id"))))
+                    .map(c -> String.valueOf(c.getOrDefault("name", "")))
+                    .findFirst().orElse(null);
+        }
+
+        // 정답 핵심증거 id 리스트
+        List<String> keyEvidenceIds = new ArrayList<>();
+        for (Object o : (List<Object>) answer.getOrDefault("key_evidence", List.of())) {
+            keyEvidenceIds.add(String.valueOf(o));
+        }
+
+        String motive = String.valueOf(answer.getOrDefault("motive", ""));
+        String method = String.valueOf(answer.getOrDefault("method", ""));
+
+        Map<String, Object> gold = new HashMap<>();
+        gold.put("culpritId", realCulpritId);
+        gold.put("culpritName", culpritName);
+        gold.put("motive", motive);
+        gold.put("method", method);
+        gold.put("keyEvidenceIds", List.copyOf(keyEvidenceIds));
+
+        List<String> frozenFacts = List.copyOf(facts);
+        return new CaseContext(caseTitle, caseSummary, frozenFacts, Collections.unmodifiableMap(gold),
+                compactor.contextRef(caseTitle, caseSummary, frozenFacts, gold));
+    }
+
+    // ==============================
+    // FastAPI 호출 (hf 우선, 예산 초과/실패 시 보조 엔진 병렬 헤지) → 정수 점수
+    //  - 헤지 호출이 모두 실패하면 프로세스 내 채점, 그것도 실패하면 null
+    // ==============================
+    public Map<String, Integer> analyzeSkills(NlpAnalyzeRequest analyzeReq) {
+        NlpAnalyzeResponse analyzeResp;
+        try {
+            analyzeResp = nlpClient.analyzeHedged(analyzeReq);
+        } catch (Exception e) {
+            System.err.println("NLP 분석 실패(헤지 엔진 모두) → java 채점으로 대체: " + e.getMessage());
+            try {
+                analyzeResp = skillScorer.score(analyzeReq);
+            } catch (Exception e2) {
+                System.err.println("java 채점 실패: " + e2.getMessage());
+                return null;
+            }
+        }
+        return coerceSkillInts(analyzeResp.getSkills());
+    }
+
+    // ==============================
+    // 비동기 분석 제출 (워커 풀)
+    // ==============================
+    // @return 등록했거나 이미 진행 중이면 true, 큐가 가득 차 거절되면 false (PENDING 유지)
+    public boolean submit(Integer resultId, NlpAnalyzeRequest analyzeReq) {
+        if (!inFlight.add(resultId)) return true;
+        try {
+            executor.execute(() -> {
+                try {
+                    runAnalysis(resultId, analyzeReq);
+                } finally {
+                    inFlight.remove(resultId);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(resultId);
+            System.err.println("분석 큐 가득 참 → PENDING 유지, 재등록 대기(resultId=" + resultId + ")");
+            return false;
+        }
+    }
+
+    private void runAnalysis(Integer resultId, NlpAnalyzeRequest analyzeReq) {
+        Map<String, Integer> skills = null;
+        try {
+            skills = analyzeSkills(analyzeReq);
+        } catch (Exception e) {
+            System.err.println("NLP 분석 워커 오류(resultId=" + resultId + "): " + e.getMessage());
+        }
+        AnalysisStatus status = (skills != null) ? AnalysisStatus.DONE : AnalysisStatus.FAILED;
+        String skillsJsonStr = toJson(skills != null ? skills : coerceSkillInts(Map.of()));
+        try {
+            GameResult gr = resultService.completeAnalysis(resultId, skillsJsonStr, status);
+            notifier.publish(gr);
+        } catch (Exception e) {
+            System.err.println("분석 결과 반영 실패(resultId=" + resultId + "): " + e.getMessage());
+        }
+    }
+
+    // ==============================
+    // 재시작 복구: PENDING으로 남은 결과 재분석 (timings는 보존되지 않으므로 null)
+    //  - 큐가 차면 멈추고 나머지는 requeuePending에 맡김
+    // ==============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void resubmitPending() {
+        resubmit(resultRepository.findByAnalysisStatus(AnalysisStatus.PENDING));
+    }
+
+    // 큐 거절로 남은 PENDING 주기적 재등록 (진행 중인 것은 inFlight로 건너뜀)
+    @Scheduled(initialDelayString = "${nlp.worker.requeue-interval-ms:30000}",
+            fixedDelayString = "${nlp.worker.requeue-interval-ms:30000}")
+    public void requeuePending() {
+        resubmit(resultRepository.findTop200ByAnalysisStatusAndCreatedAtBeforeOrderByResultIdAsc(
+                AnalysisStatus.PENDING, LocalDateTime.now().minusSeconds(requeueGraceSeconds)));
+    }
+
+    private void resubmit(List<GameResult> pending) {
+        for (GameResult gr : pending) {
+            if (inFlight.contains(gr.getResultId())) continue;
+            try {
+                Map<String, Object> answer = gr.getAnswerJson() == null ? Map.of()
+                        : mapper.readValue(gr.getAnswerJson(), new TypeReference<Map<String, Object>>() {});
+                if (!submit(gr.getResultId(), buildAnalyzeRequest(gr.getSessionId(), answer, null))) {
+                    return; // 큐가 가득 참 → 다음 주기에
+                }
+            } catch (Exception e) {
+                System.err.println("PENDING 결과 재분석 등록 실패(resultId=" + gr.getResultId() + "): " + e.getMessage());
+            }
+        }
+    }
+
+    // ==============================
+    // util
+    // ==============================
+    public Map<String, Integer> coerceSkillInts(Map<String, ?> in) {
+        HashMap<String, Integer> out = new HashMap<>();
+        if (in != null) {
+            for (String k : SKILL_KEYS) {
+                Object v = in.get(k);
+                int iv = 0;
+                if (v instanceof Number) {
+                    iv = (int) Math.round(((Number) v).doubleValue());
+                } else if (v instanceof String) {
+                    try { iv = (int) Math.round(Double.parseDouble((String) v)); } catch (Exception ignored) {}
+                }
+                if (iv < 0) iv = 0;
+                if (iv > 100) iv = 100;
+                out.put(k, iv);
+            }
+        }
+        for (String k : SKILL_KEYS) if (!out.containsKey(k)) out.put(k, 0);
+        return out;
+    }
+
+    public String toJson(Object o) {
+        try {
+            return mapper.writeValueAsString(o);
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+
+    private Map<String, Object> safeToMap(String json) {
+        try {
+            return mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            return Map.of("logs", List.of());
+        }
+    }
+}
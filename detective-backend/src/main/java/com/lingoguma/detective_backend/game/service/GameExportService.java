@@ -0,0 +1,151 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 관리자 데이터 내보내기 (game_results / game_sessions 전체)
+ * - 엔티티 대신 컬럼 프로젝션을 JPA Stream으로 한 행씩 읽음 (영속성 컨텍스트에 쌓이지 않음)
+ *   fetch-size 기본값 Integer.MIN_VALUE = MySQL 드라이버 행 단위 스트리밍
+ * - NDJSON: JsonGenerator로 응답 스트림에 바로 기록, JSON 컬럼은 파싱 없이 raw 값 그대로
+ * - CSV: RFC 4180 인용, JSON 컬럼은 문자열 셀
+ * - gzip=true 면 GZIPOutputStream으로 즉석 압축
+ * → 테이블 크기와 무관하게 메모리 사용량 일정
+ */
+@Service
+@RequiredArgsConstructor
+public class GameExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String[] RESULT_COLUMNS = {
+            "resultId", "sessionId", "scenIdx", "userIdx", "correct", "analysisStatus",
+            "logic", "creativity", "focus", "diversity", "depth", "totalScore",
+            "createdAt", "updatedAt", "answerJson", "skillsJson"
+    };
+    private static final String RESULT_JPQL =
+            "select r.resultId, r.sessionId, r.scenIdx, r.userIdx, r.isCorrect, r.analysisStatus,"
+                    + " r.logic, r.creativity, r.focus, r.diversity, r.depth, r.totalScore,"
+                    + " r.createdAt, r.updatedAt, r.answerJson, r.skillsJson"
+                    + " from GameResult r order by r.resultId";
+
+    private static final String[] SESSION_COLUMNS = {
+            "sessionId", "scenIdx", "userIdx", "status", "createdAt", "updatedAt", "logJson", "metricsJson"
+    };
+    private static final String SESSION_JPQL =
+            "select s.sessionId, sc.scenIdx, u.userIdx, s.status, s.createdAt, s.updatedAt, s.logJson, s.metricsJson"
+                    + " from GameSession s join s.scenario sc left join s.user u order by s.sessionId";
+
+    // 마지막 두 컬럼은 JSON 원문
+    private static final int RAW_JSON_TAIL = 2;
+
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+    private final PlatformTransactionManager txManager;
+
+    @Value("${export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    public void exportResults(OutputStream out, Format format, boolean gzip) throws IOException {
+        export(out, format, gzip, RESULT_JPQL, RESULT_COLUMNS);
+    }
+
+    public void exportSessions(OutputStream out, Format format, boolean gzip) throws IOException {
+        export(out, format, gzip, SESSION_JPQL, SESSION_COLUMNS);
+    }
+
+    // ==============================
+    // 공통: 읽기 전용 트랜잭션 안에서 스트림 → 포맷별 기록
+    // ==============================
+    private void export(OutputStream rawOut, Format format, boolean gzip, String jpql, String[] columns) throws IOException {
+        OutputStream out = gzip ? new GZIPOutputStream(rawOut, 64 * 1024) : rawOut;
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(true);
+        try {
+            tx.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = em.createQuery(jpql, Object[].class)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .getResultStream()) {
+                    if (format == Format.CSV) {
+                        writeCsv(out, columns, rows);
+                    } else {
+                        writeNdjson(out, columns, rows);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // 클라이언트 연결 끊김 등
+        }
+        if (gzip) {
+            ((GZIPOutputStream) out).finish();
+        }
+        out.flush();
+    }
+
+    private void writeNdjson(OutputStream out, String[] columns, Stream<Object[]> rows) throws IOException {
+        JsonGenerator gen = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        int rawFrom = columns.length - RAW_JSON_TAIL;
+        for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+            gen.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                gen.writeFieldName(columns[i]);
+                Object v = row[i];
+                if (v == null) {
+                    gen.writeNull();
+                } else if (i >= rawFrom) {
+                    gen.writeRawValue(v.toString()); // DB JSON 컬럼 → 재파싱 없이 그대로
+                } else if (v instanceof Number n) {
+                    gen.writeNumber(n.longValue());
+                } else if (v instanceof Boolean b) {
+                    gen.writeBoolean(b);
+                } else {
+                    gen.writeString(v.toString());
+                }
+            }
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+        gen.flush();
+    }
+
+    private void writeCsv(OutputStream out, String[] columns, Stream<Object[]> rows) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        w.write(String.join(",", columns));
+        w.write("\r\n");
+        for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) w.write(',');
+                if (row[i] != null) w.write(csvCell(row[i].toString()));
+            }
+            w.write("\r\n");
+        }
+        w.flush();
+    }
+
+    private static String csvCell(String s) {
+        boolean quote = s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0;
+        return quote ? "\"" + s.replace("\"", "\"\"") + "\"" : s;
+    }
+}
@@ -2,27 +2,57 @@ package com.lingoguma.detective_backend.game.service;
 
 import com.lingoguma.detective_backend.game.dto.NlpAnalyzeRequest;
 import com.lingoguma.detective_backend.game.dto.NlpAnalyzeResponse;
+import com.lingoguma.detective_backend.game.dto.NlpBatchAnalyzeRequest;
+import com.lingoguma.detective_backend.game.dto.NlpBatchAnalyzeResponse;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * FastAPI /nlp/analyze 호출 클라이언트
  * - 기본적으로 HuggingFace 엔진(engine=hf)으로 호출 (application.properties에서 변경 가능)
  * - 요청 DTO에 engine이 세팅되어 있으면 그 값이 우선
  * - fromHttpUrl(String) (Deprecated in Spring 6.2) 대신 fromUriString().path() 사용
+ * - analyzeHedged: 주 엔진(hf)이 nlp.hedge.budget-ms 안에 답하지 못하면 보조 엔진(dummy)을 병렬로 띄우고
+ *   먼저 도착한 유효 응답을 사용 (엔진별 응답 시간을 응답 DTO에 기록)
+ * - 엔진별 서킷 브레이커: 열린 엔진은 호출하지 않고 즉시 실패 처리 → 헤지가 바로 보조 엔진으로 넘어감
+ * - 마이크로 배칭(nlp.batch.*): 엔진별로 요청을 모아 /nlp/analyze/batch 한 번으로 전송 후 호출자별로 분배
+ * - 결과 메모(NlpResultMemo): 정규화 요청 해시가 같으면 재분석 없이 재사용, 동시에 들어온 같은 요청은 한 번만 분석
+ * - engine=java: 네트워크 없이 SkillScorer(dummy 휴리스틱 Java 포팅)로 즉시 채점 → 기본 헤지 보조 엔진
+ * - 압축 전송(nlp.compact.enabled): 등록된 시나리오 맥락은 contextRef로 대체, 서버 캐시 miss(409)면 전체 재전송
  */
 @Component
 @RequiredArgsConstructor
 public class GameNlpClient {
 
     private final RestTemplate restTemplate;
+    private final NlpPayloadCompactor compactor;
+    private final SkillScorer skillScorer;
+    private final NlpResultMemo memo;
+
+    // 분석 중인 요청 (메모 키 → 진행 중 결과), 재시도가 겹쳐도 NLP 호출은 한 번
+    private final Map<String, CompletableFuture<NlpAnalyzeResponse>> inflight = new ConcurrentHashMap<>();
 
     @Value("${nlp.base-url}")
     private String nlpBaseUrl;          // 예: http://localhost:8000
@@ -30,11 +60,70 @@ public class GameNlpClient {
     @Value("${nlp.engine:hf}")
     private String defaultEngine;       // 예: hf 또는 dummy (기본 hf)
 
+    @Value("${nlp.hedge.fallback-engine:java}")
+    private String fallbackEngine;      // 헤지용 보조 엔진 (java = 프로세스 내 채점)
+
+    @Value("${nlp.hedge.budget-ms:5000}")
+    private long hedgeBudgetMs;         // 주 엔진 단독 대기 예산
+
+    @Value("${nlp.hedge.max-wait-ms:60000}")
+    private long hedgeMaxWaitMs;        // 전체 대기 상한
+
+    @Value("${nlp.breaker.window-size:20}")
+    private int breakerWindowSize;
+    @Value("${nlp.breaker.min-calls:5}")
+    private int breakerMinCalls;
+    @Value("${nlp.breaker.failure-rate:0.5}")
+    private double breakerFailureRate;
+    @Value("${nlp.breaker.slow-call-ms:10000}")
+    private long breakerSlowCallMs;
+    @Value("${nlp.breaker.slow-rate:0.8}")
+    private double breakerSlowRate;
+    @Value("${nlp.breaker.open-ms:30000}")
+    private long breakerOpenMs;
+    @Value("${nlp.breaker.half-open-probes:2}")
+    private int breakerHalfOpenProbes;
+
+    // 엔진별 서킷 브레이커 (hf, dummy ...)
+    private final Map<String, EngineCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    @Value("${nlp.batch.enabled:true}")
+    private boolean batchEnabled;
+    @Value("${nlp.batch.max-size:8}")
+    private int batchMaxSize;           // 배치 최대 건수 (1이면 배칭 안 함)
+    @Value("${nlp.batch.max-wait-ms:50}")
+    private long batchMaxWaitMs;        // 첫 요청 후 최대 대기
+
+    // 엔진별 배처 + 배치 마감 타이머
+    private final Map<String, NlpRequestBatcher> batchers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService batchTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "nlp-batch-timer");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean batchUnsupported = false; // NLP 서버에 배치 엔드포인트가 없으면(404) 단건 호출로 전환
+
+    // 엔진 호출 전용 스레드 (분석 워커가 두 엔진을 동시에 기다릴 수 있도록 분리)
+    private final ExecutorService callPool = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "nlp-call-" + CALL_SEQ.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+    private static final AtomicInteger CALL_SEQ = new AtomicInteger();
+
+    private static final String CONTEXT_MISS = "context_miss";
+
     public NlpAnalyzeResponse analyze(NlpAnalyzeRequest req) {
         // 1) 사용할 엔진 결정: 요청 값 > 기본값
         final String engine = (req.getEngine() != null && !req.getEngine().isBlank())
                 ? req.getEngine() : defaultEngine;
+        return analyze(req, engine);
+    }
 
+    public NlpAnalyzeResponse analyze(NlpAnalyzeRequest req, String engine) {
+        if (SkillScorer.ENGINE.equals(engine)) {
+            return skillScorer.score(req); // 프로세스 내 채점 (네트워크 호출 없음)
+        }
         // 2) URL 구성 (Deprecated API 회피)
         //    - fromUriString(base).path("/nlp/analyze").queryParam("engine", ...) 사용
         //    - base에 슬래시 유무와 상관없이 안전하게 결합됨
@@ -54,12 +143,23 @@ public class GameNlpClient {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         // 서버는 쿼리 파라미터의 engine을 읽으므로, 바디의 engine 필드는 필수가 아님(있어도 무방)
-        HttpEntity<NlpAnalyzeRequest> entity = new HttpEntity<>(req, headers);
+        NlpAnalyzeRequest wire = compactor.toWire(req);
 
         try {
-            ResponseEntity<NlpAnalyzeResponse> resp = restTemplate.exchange(
-                    uri, HttpMethod.POST, entity, NlpAnalyzeResponse.class
-            );
+            ResponseEntity<NlpAnalyzeResponse> resp;
+            try {
+                resp = restTemplate.exchange(
+                        uri, HttpMethod.POST, new HttpEntity<>(wire, headers), NlpAnalyzeResponse.class
+                );
+            } catch (HttpClientErrorException.Conflict miss) {
+                // 서버 맥락 캐시 miss → 전체 요청 재전송 (서버가 다시 등록)
+                compactor.onMiss(req.getContextRef());
+                wire = req;
+                resp = restTemplate.exchange(
+                        uri, HttpMethod.POST, new HttpEntity<>(wire, headers), NlpAnalyzeResponse.class
+                );
+            }
+            compactor.markRegistered(wire);
             return resp.getBody();
         } catch (RestClientException e) {
             // 호출 실패 시 상위에서 처리할 수 있게 런타임 예외로 래핑하거나 null 반환
@@ -67,4 +167,292 @@ public class GameNlpClient {
             throw new RuntimeException("NLP 서버 호출 실패: " + e.getMessage(), e);
         }
     }
+
+    // ==============================
+    // 배치 호출: /nlp/analyze/batch (결과는 요청 순서, 실패 항목은 null)
+    //  - 배치 엔드포인트가 없는 NLP 서버면 단건 호출로 대체
+    // ==============================
+    public List<NlpAnalyzeResponse> analyzeBatch(List<NlpAnalyzeRequest> reqs, String engine) {
+        if (batchUnsupported) {
+            return analyzeEach(reqs, engine);
+        }
+        URI uri = UriComponentsBuilder
+                .fromUriString(nlpBaseUrl)
+                .path("/nlp/analyze/batch")
+                .queryParam("engine", engine)
+                .build(true)
+                .toUri();
+
+        List<NlpAnalyzeRequest> wires = new ArrayList<>(reqs.size());
+        for (NlpAnalyzeRequest r : reqs) wires.add(compactor.toWire(r));
+
+        List<NlpBatchAnalyzeResponse.Item> items;
+        try {
+            items = new ArrayList<>(postBatch(uri, wires));
+            // 서버 맥락 캐시 miss 항목만 전체 요청으로 한 번 더
+            List<Integer> missed = new ArrayList<>();
+            for (int i = 0; i < wires.size(); i++) {
+                NlpBatchAnalyzeResponse.Item it = i < items.size() ? items.get(i) : null;
+                if (it != null && !it.isOk() && CONTEXT_MISS.equals(it.getError())) {
+                    compactor.onMiss(reqs.get(i).getContextRef());
+                    wires.set(i, reqs.get(i));
+                    missed.add(i);
+                }
+            }
+            if (!missed.isEmpty()) {
+                List<NlpBatchAnalyzeResponse.Item> retry = postBatch(uri, missed.stream().map(reqs::get).toList());
+                for (int k = 0; k < missed.size(); k++) {
+                    items.set(missed.get(k), k < retry.size() ? retry.get(k) : null);
+                }
+            }
+        } catch (HttpClientErrorException.NotFound e) {
+            System.err.println("NLP 배치 엔드포인트 없음 → 단건 호출로 전환");
+            batchUnsupported = true;
+            return analyzeEach(reqs, engine);
+        } catch (RestClientException e) {
+            throw new RuntimeException("NLP 배치 호출 실패: " + e.getMessage(), e);
+        }
+
+        List<NlpAnalyzeResponse> out = new ArrayList<>(reqs.size());
+        for (int i = 0; i < reqs.size(); i++) {
+            NlpBatchAnalyzeResponse.Item it = i < items.size() ? items.get(i) : null;
+            if (it != null && it.isOk()) compactor.markRegistered(wires.get(i));
+            if (it == null || !it.isOk()) {
+                System.err.println("NLP 배치 항목 실패(" + engine + ", #" + i + "): "
+                        + (it == null ? "응답 누락" : it.getError()));
+                out.add(null);
+            } else {
+                out.add(it.getResult());
+            }
+        }
+        return out;
+    }
+
+    private List<NlpBatchAnalyzeResponse.Item> postBatch(URI uri, List<NlpAnalyzeRequest> wires) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<NlpBatchAnalyzeRequest> entity = new HttpEntity<>(new NlpBatchAnalyzeRequest(wires), headers);
+        NlpBatchAnalyzeResponse body =
+                restTemplate.exchange(uri, HttpMethod.POST, entity, NlpBatchAnalyzeResponse.class).getBody();
+        return (body == null || body.getResults() == null) ? List.of() : body.getResults();
+    }
+
+    private List<NlpAnalyzeResponse> analyzeEach(List<NlpAnalyzeRequest> reqs, String engine) {
+        List<NlpAnalyzeResponse> out = new ArrayList<>(reqs.size());
+        for (NlpAnalyzeRequest r : reqs) {
+            try {
+                out.add(analyze(r, engine));
+            } catch (Exception e) {
+                System.err.println("NLP 단건 호출 실패(" + engine + "): " + e.getMessage());
+                out.add(null);
+            }
+        }
+        return out;
+    }
+
+    // 배칭이 켜져 있으면 배처 경유, 아니면 단건 호출 (호출 스레드는 결과까지 대기)
+    private NlpAnalyzeResponse analyzeMaybeBatched(NlpAnalyzeRequest req, String engine) {
+        if (!batchEnabled || batchMaxSize <= 1 || SkillScorer.ENGINE.equals(engine)) {
+            return analyze(req, engine);
+        }
+        NlpRequestBatcher batcher = batchers.computeIfAbsent(engine, e -> new NlpRequestBatcher(
+                e, batchMaxSize, batchMaxWaitMs, list -> analyzeBatch(list, e), callPool, batchTimer));
+        try {
+            return batcher.submit(req).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw (cause instanceof RuntimeException re) ? re : new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    public List<Map<String, Object>> batchSnapshot() {
+        return batchers.values().stream().map(NlpRequestBatcher::snapshot).toList();
+    }
+
+    public Map<String, Object> memoSnapshot() {
+        return memo.snapshot();
+    }
+
+    public Map<String, Object> payloadSnapshot() {
+        return compactor.snapshot();
+    }
+
+    // ==============================
+    // 헤지 호출: hf 단독 → (예산 초과 또는 실패 시) dummy 병렬 → 먼저 온 유효 응답
+    //  - 두 엔진 모두 실패하면 RuntimeException
+    // ==============================
+    public NlpAnalyzeResponse analyzeHedged(NlpAnalyzeRequest req) {
+        final String primary = (req.getEngine() != null && !req.getEngine().isBlank())
+                ? req.getEngine() : defaultEngine;
+
+        // 메모 조회 → 같은 요청이 분석 중이면 그 결과를 기다림
+        final String memoKey = memo.isEnabled() ? memo.key(req, primary) : null;
+        if (memoKey == null) {
+            return analyzeHedgedUncached(req, primary);
+        }
+        NlpAnalyzeResponse hit = memo.get(memoKey);
+        if (hit != null) {
+            hit.setCached(true);
+            hit.setEngineLatencyMs(Map.of());
+            return hit;
+        }
+        CompletableFuture<NlpAnalyzeResponse> mine = new CompletableFuture<>();
+        CompletableFuture<NlpAnalyzeResponse> running = inflight.putIfAbsent(memoKey, mine);
+        if (running != null) {
+            try {
+                NlpAnalyzeResponse shared = running.get(hedgeMaxWaitMs, TimeUnit.MILLISECONDS);
+                NlpAnalyzeResponse out = new NlpAnalyzeResponse();
+                out.setSkills(shared.getSkills());
+                out.setSubmetrics(shared.getSubmetrics());
+                out.setEngine(shared.getEngine());
+                out.setEngineLatencyMs(shared.getEngineLatencyMs());
+                out.setHedged(shared.isHedged());
+                out.setCached(true);
+                return out;
+            } catch (Exception e) {
+                throw new RuntimeException("NLP 헤지 분석 실패 (동일 요청 대기): " + e.getMessage(), e);
+            }
+        }
+        try {
+            NlpAnalyzeResponse resp = analyzeHedgedUncached(req, primary);
+            // 보조 엔진(대체 채점) 결과는 저장하지 않음 → 재시도 때 주 엔진 결과를 다시 노림
+            if (primary.equals(resp.getEngine())) {
+                memo.put(memoKey, resp);
+            }
+            mine.complete(resp);
+            return resp;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(memoKey, mine);
+        }
+    }
+
+    // ==============================
+    // 지정 엔진 단독 호출 (재채점용): 메모 조회/헤지 없이 항상 새로 분석 후 결과를 메모에 덮어씀
+    //  - timeoutMs 안에 응답이 없거나 빈 응답이면 RuntimeException
+    // ==============================
+    public NlpAnalyzeResponse analyzeFresh(NlpAnalyzeRequest req, String engine, long timeoutMs) {
+        CompletableFuture<NlpAnalyzeResponse> call = CompletableFuture.supplyAsync(() -> analyze(req, engine), callPool);
+        NlpAnalyzeResponse resp;
+        try {
+            resp = call.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw new RuntimeException("NLP 분석 시간 초과(" + engine + ", " + timeoutMs + "ms)");
+        } catch (Exception e) {
+            throw new RuntimeException("NLP 분석 실패(" + engine + "): " + e.getMessage(), e);
+        }
+        if (resp == null || resp.getSkills() == null) {
+            throw new IllegalStateException("빈 응답(" + engine + ")");
+        }
+        if (resp.getEngine() == null) resp.setEngine(engine);
+        if (memo.isEnabled() && engine.equals(resp.getEngine())) {
+            memo.put(memo.key(req, engine), resp);
+        }
+        return resp;
+    }
+
+    private NlpAnalyzeResponse analyzeHedgedUncached(NlpAnalyzeRequest req, String primary) {
+        final String secondary = fallbackEngine;
+
+        Map<String, Long> latencies = new ConcurrentHashMap<>();
+        CompletableFuture<NlpAnalyzeResponse> winner = new CompletableFuture<>();
+        AtomicBoolean secondaryStarted = new AtomicBoolean(false);
+        AtomicInteger failures = new AtomicInteger();
+
+        // 같은 요청 객체를 두 엔진이 공유 (엔진은 쿼리 파라미터로만 지정 → 바디는 변경하지 않음)
+        Runnable startSecondary = () -> {
+            if (primary.equals(secondary) || !secondaryStarted.compareAndSet(false, true)) return;
+            launch(req, secondary, latencies, winner, failures, 2);
+        };
+
+        launch(req, primary, latencies, winner, failures, primary.equals(secondary) ? 1 : 2)
+                .whenComplete((r, e) -> {
+                    if (!winner.isDone()) startSecondary.run(); // 주 엔진 실패 → 즉시 보조 엔진
+                });
+        CompletableFuture.delayedExecutor(hedgeBudgetMs, TimeUnit.MILLISECONDS, callPool)
+                .execute(() -> {
+                    if (!winner.isDone()) startSecondary.run(); // 예산 초과 → 보조 엔진 병렬 기동
+                });
+
+        try {
+            NlpAnalyzeResponse resp = winner.get(hedgeMaxWaitMs, TimeUnit.MILLISECONDS);
+            resp.setEngineLatencyMs(Map.copyOf(latencies));
+            resp.setHedged(secondaryStarted.get());
+            return resp;
+        } catch (Exception e) {
+            throw new RuntimeException("NLP 헤지 분석 실패 (latency=" + latencies + "): " + e.getMessage(), e);
+        }
+    }
+
+    private CompletableFuture<NlpAnalyzeResponse> launch(NlpAnalyzeRequest req,
+                                                         String engine,
+                                                         Map<String, Long> latencies,
+                                                         CompletableFuture<NlpAnalyzeResponse> winner,
+                                                         AtomicInteger failures,
+                                                         int expectedCalls) {
+        EngineCircuitBreaker breaker = breaker(engine);
+        long permit = breaker.tryAcquire();
+        if (permit == EngineCircuitBreaker.REJECTED) {
+            // 열린 엔진: 네트워크 호출 없이 즉시 실패 → 헤지 로직이 곧바로 보조 엔진 기동
+            CompletableFuture<NlpAnalyzeResponse> rejected = CompletableFuture.failedFuture(
+                    new IllegalStateException("서킷 OPEN(" + engine + ")"));
+            return rejected.whenComplete((r, e) -> {
+                System.err.println("NLP 엔진 건너뜀: " + e.getMessage());
+                if (failures.incrementAndGet() >= expectedCalls) {
+                    winner.completeExceptionally(e);
+                }
+            });
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            long t0 = System.nanoTime();
+            boolean ok = false;
+            try {
+                NlpAnalyzeResponse r = analyzeMaybeBatched(req, engine);
+                if (r == null || r.getSkills() == null) {
+                    throw new IllegalStateException("빈 응답(" + engine + ")");
+                }
+                if (r.getEngine() == null) r.setEngine(engine);
+                ok = true;
+                return r;
+            } finally {
+                long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+                latencies.put(engine, ms);
+                // 경주에서 진 호출도 끝까지 기록 → 느린 호출 비율에 반영
+                if (ok) breaker.onSuccess(permit, ms); else breaker.onFailure(permit, ms);
+            }
+        }, callPool).whenComplete((r, e) -> {
+            if (e == null) {
+                winner.complete(r);
+            } else {
+                System.err.println("NLP 엔진 실패(" + engine + "): " + e.getMessage());
+                if (failures.incrementAndGet() >= expectedCalls) {
+                    winner.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    // ==============================
+    // 서킷 브레이커
+    // ==============================
+    private EngineCircuitBreaker breaker(String engine) {
+        return breakers.computeIfAbsent(engine, e -> new EngineCircuitBreaker(
+                e, breakerWindowSize, breakerMinCalls, breakerFailureRate,
+                breakerSlowCallMs, breakerSlowRate, breakerOpenMs, breakerHalfOpenProbes));
+    }
+
+    public List<Map<String, Object>> breakerSnapshot() {
+        breaker(defaultEngine);
+        breaker(fallbackEngine);
+        return breakers.values().stream().map(EngineCircuitBreaker::snapshot).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchTimer.shutdownNow();
+        callPool.shutdownNow();
+    }
 }
@@ -0,0 +1,253 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeRequest;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeResponse;
+import com.lingoguma.detective_backend.game.entity.BatchCheckpoint;
+import com.lingoguma.detective_backend.game.entity.GameResult;
+import com.lingoguma.detective_backend.game.entity.GameStatus;
+import com.lingoguma.detective_backend.game.repository.BatchCheckpointRepository;
+import com.lingoguma.detective_backend.game.repository.GameResultRepository;
+import com.lingoguma.detective_backend.game.repository.GameSessionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 과거 세션 일괄 재채점 (NLP 모델 변경 후 점수 재계산, 관리자 실행)
+ * - FINISHED 세션을 id 순으로 pageSize개씩 읽고, finish와 같은 방식(buildAnalyzeRequest)으로 요청 재구성
+ * - 동시 호출 수(parallelism)와 초당 호출 수(ratePerSec)를 제한해 NLP 서버 호출
+ * - 페이지 단위로 점수 일괄 저장(saveAll) 후 batch_checkpoints에 마지막 세션 id 기록 → 재시작 시 이어서
+ * - 주 엔진만 직접 호출 (메모/헤지 우회, nlp.rescore.timeout-ms), 새 결과는 메모에 덮어씀
+ */
+@Service
+@RequiredArgsConstructor
+public class GameRescoreJob {
+
+    public static final String JOB_NAME = "rescore-results";
+
+    private final GameSessionRepository sessionRepo;
+    private final GameResultRepository resultRepo;
+    private final GameResultService resultService;
+    private final GameAnalysisService analysisService;
+    private final GameNlpClient nlpClient;
+    private final BatchCheckpointRepository checkpointRepo;
+    private final ObjectMapper mapper;
+
+    @Value("${nlp.engine:hf}")
+    private String primaryEngine;
+
+    @Value("${nlp.rescore.timeout-ms:120000}")
+    private long timeoutMs;             // 세션 1건 분석 대기 상한 (CPU hf는 수 초 이상 걸림)
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean stopRequested = new AtomicBoolean(false);
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rescore-job");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 현재 실행 통계
+    private final AtomicLong runProcessed = new AtomicLong();
+    private final AtomicLong runFailed = new AtomicLong();
+    private volatile long runStartedNanos = 0L;
+    private volatile Map<String, Object> runParams = Map.of();
+
+    /**
+     * @param restart true면 체크포인트를 지우고 처음부터
+     * @return 시작했으면 true, 이미 실행 중이면 false
+     */
+    public boolean start(int parallelism, double ratePerSec, int pageSize, boolean restart) {
+        if (!running.compareAndSet(false, true)) return false;
+        stopRequested.set(false);
+        runProcessed.set(0);
+        runFailed.set(0);
+        runStartedNanos = System.nanoTime();
+        int par = Math.max(1, Math.min(parallelism, 32));
+        int page = Math.max(1, Math.min(pageSize, 500));
+        double rate = ratePerSec <= 0 ? 0 : ratePerSec;
+        runParams = Map.of("parallelism", par, "ratePerSec", rate, "pageSize", page);
+
+        BatchCheckpoint cp = checkpointRepo.findById(JOB_NAME).orElse(null);
+        if (cp == null || restart) {
+            cp = BatchCheckpoint.builder().jobName(JOB_NAME).lastId(0L).build();
+        }
+        cp.setStatus("RUNNING");
+        cp.setStartedAt(LocalDateTime.now());
+        cp.setNote("parallelism=" + par + ", ratePerSec=" + rate + ", pageSize=" + page);
+        final BatchCheckpoint checkpoint = checkpointRepo.save(cp);
+
+        runner.execute(() -> {
+            try {
+                run(checkpoint, par, rate, page);
+            } catch (Exception e) {
+                System.err.println("재채점 작업 실패: " + e.getMessage());
+                checkpoint.setStatus("FAILED");
+                checkpoint.setNote(truncate("오류: " + e.getMessage()));
+                checkpointRepo.save(checkpoint);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public void stop() {
+        stopRequested.set(true);
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("running", running.get());
+        BatchCheckpoint cp = checkpointRepo.findById(JOB_NAME).orElse(null);
+        if (cp != null) {
+            m.put("status", cp.getStatus());
+            m.put("lastSessionId", cp.getLastId());
+            m.put("processedTotal", cp.getProcessed());
+            m.put("failedTotal", cp.getFailed());
+            m.put("note", cp.getNote());
+            m.put("startedAt", cp.getStartedAt());
+            m.put("updatedAt", cp.getUpdatedAt());
+        }
+        if (runStartedNanos != 0L) {
+            double sec = Math.max(1e-3, (System.nanoTime() - runStartedNanos) / 1e9);
+            m.put("run", Map.of(
+                    "params", runParams,
+                    "processed", runProcessed.get(),
+                    "failed", runFailed.get(),
+                    "elapsedSec", Math.round(sec),
+                    "sessionsPerSec", Math.round(runProcessed.get() / sec * 100) / 100.0
+            ));
+        }
+        return m;
+    }
+
+    // ==============================
+    // 실행 루프: 페이지 읽기 → 제한된 병렬 분석 → 일괄 저장 → 체크포인트
+    // ==============================
+    private void run(BatchCheckpoint cp, int parallelism, double ratePerSec, int pageSize) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "rescore-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        Semaphore slots = new Semaphore(parallelism);
+        RateLimiter limiter = new RateLimiter(ratePerSec);
+        try {
+            while (!stopRequested.get()) {
+                long after = cp.getLastId() == null ? 0L : cp.getLastId();
+                List<Integer> ids = sessionRepo.findIdsByStatusAfter(
+                        GameStatus.FINISHED, (int) after, PageRequest.of(0, pageSize));
+                if (ids.isEmpty()) {
+                    cp.setStatus("DONE");
+                    break;
+                }
+
+                // 세션별 최신 결과
+                Map<Integer, GameResult> latest = new HashMap<>();
+                for (GameResult gr : resultRepo.findBySessionIdIn(ids)) {
+                    latest.merge(gr.getSessionId(), gr,
+                            (a, b) -> a.getResultId() >= b.getResultId() ? a : b);
+                }
+
+                Map<Integer, String> updates = new ConcurrentHashMap<>();
+                AtomicLong pageFailed = new AtomicLong();
+                for (Integer sessionId : ids) {
+                    GameResult gr = latest.get(sessionId);
+                    if (gr == null) continue; // 결과 없이 끝난 세션
+                    slots.acquire();
+                    limiter.acquire();
+                    workers.execute(() -> {
+                        try {
+                            String skills = rescore(gr);
+                            if (skills != null) updates.put(gr.getResultId(), skills);
+                            else pageFailed.incrementAndGet();
+                        } catch (Exception e) {
+                            System.err.println("재채점 실패(sessionId=" + sessionId + "): " + e.getMessage());
+                            pageFailed.incrementAndGet();
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+                // 페이지 내 작업 모두 끝날 때까지 대기 (모든 슬롯 회수)
+                slots.acquire(parallelism);
+                slots.release(parallelism);
+
+                int written = resultService.applyRescores(updates);
+                runProcessed.addAndGet(written);
+                runFailed.addAndGet(pageFailed.get());
+
+                cp.setLastId((long) ids.get(ids.size() - 1));
+                cp.setProcessed(cp.getProcessed() + written);
+                cp.setFailed(cp.getFailed() + pageFailed.get());
+                checkpointRepo.save(cp);
+            }
+            if (stopRequested.get() && !"DONE".equals(cp.getStatus())) {
+                cp.setStatus("STOPPED");
+            }
+            checkpointRepo.save(cp);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private String rescore(GameResult gr) throws Exception {
+        Map<String, Object> answer = gr.getAnswerJson() == null ? Map.of()
+                : mapper.readValue(gr.getAnswerJson(), new TypeReference<Map<String, Object>>() {});
+        NlpAnalyzeRequest req = analysisService.buildAnalyzeRequest(gr.getSessionId(), answer, null);
+        String engine = (req.getEngine() != null && !req.getEngine().isBlank()) ? req.getEngine() : primaryEngine;
+        // 메모/헤지 우회: 모델 변경 후에도 이전 점수를 재사용하지 않고, 느린 주 엔진을 보조 엔진과 경주시키지 않음
+        NlpAnalyzeResponse resp = nlpClient.analyzeFresh(req, engine, timeoutMs);
+        return analysisService.toJson(analysisService.coerceSkillInts(resp.getSkills()));
+    }
+
+    private static String truncate(String s) {
+        return s == null || s.length() <= 255 ? s : s.substring(0, 255);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopRequested.set(true);
+        runner.shutdown();
+    }
+
+    // ==============================
+    // 단순 간격 제한기: 호출 사이 최소 1/rate 초 (rate <= 0 이면 무제한)
+    // ==============================
+    private static final class RateLimiter {
+        private final long intervalNanos;
+        private long next = System.nanoTime();
+
+        RateLimiter(double ratePerSec) {
+            this.intervalNanos = ratePerSec <= 0 ? 0L : (long) (1e9 / ratePerSec);
+        }
+
+        synchronized void acquire() throws InterruptedException {
+            if (intervalNanos == 0L) return;
+            long now = System.nanoTime();
+            if (next > now) {
+                TimeUnit.NANOSECONDS.sleep(next - now);
+                now = next;
+            }
+            next = now + intervalNanos;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.dto.GameHistoryItem;
+import com.lingoguma.detective_backend.game.entity.GameResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 게임 기록 목록 (keyset 페이지)
+ * - 정렬: resultId desc (IDENTITY라 생성 순서 = createdAt 순서) → cursor = 직전 페이지 마지막 resultId
+ * - 필터: userIdx / scenIdx / correct / 기간(createdAt, from~to 포함)
+ * - 인덱스: (userIdx, resultId), (userIdx, scenIdx, resultId), (scenIdx, resultId), (createdAt)
+ */
+@Service
+@RequiredArgsConstructor
+public class GameResultQueryService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final EntityManager em;
+
+    /**
+     * @return items + nextCursor(마지막 페이지면 null)
+     */
+    @Transactional(readOnly = true)
+    public <T> Map<String, Object> page(Integer userIdx, Integer scenIdx, Boolean correct,
+                                        LocalDate from, LocalDate to,
+                                        Integer cursor, int limit,
+                                        Function<GameResult, T> toItem) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("기간이 올바르지 않습니다: " + from + " ~ " + to);
+        }
+
+        StringBuilder jpql = new StringBuilder("select r from GameResult r where 1 = 1");
+        if (userIdx != null) jpql.append(" and r.userIdx = :userIdx");
+        if (scenIdx != null) jpql.append(" and r.scenIdx = :scenIdx");
+        if (correct != null) jpql.append(" and r.isCorrect = :correct");
+        if (from != null) jpql.append(" and r.createdAt >= :from");
+        if (to != null) jpql.append(" and r.createdAt < :to");
+        if (cursor != null) jpql.append(" and r.resultId < :cursor");
+        jpql.append(" order by r.resultId desc");
+
+        TypedQuery<GameResult> q = em.createQuery(jpql.toString(), GameResult.class);
+        if (userIdx != null) q.setParameter("userIdx", userIdx);
+        if (scenIdx != null) q.setParameter("scenIdx", scenIdx);
+        if (correct != null) q.setParameter("correct", correct);
+        if (from != null) q.setParameter("from", from.atStartOfDay());
+        if (to != null) q.setParameter("to", to.plusDays(1).atStartOfDay());
+        if (cursor != null) q.setParameter("cursor", cursor);
+        q.setMaxResults(size + 1); // 한 건 더 읽어 다음 페이지 유무 판단
+        List<GameResult> rows = q.getResultList();
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) rows = rows.subList(0, size);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", rows.stream().map(toItem).toList());
+        body.put("nextCursor", hasMore ? rows.get(rows.size() - 1).getResultId() : null);
+        return body;
+    }
+
+    /**
+     * 마이페이지 기록: 결과 + 시나리오 제목/난이도를 한 번의 조인 프로젝션으로 (keyset 페이지)
+     * @return items + nextCursor(마지막 페이지면 null)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> history(Integer userIdx, Integer cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        TypedQuery<GameHistoryItem> q = em.createQuery(
+                "select new com.lingoguma.detective_backend.game.dto.GameHistoryItem("
+                        + " r.resultId, r.scenIdx, s.scenTitle, s.scenLevel, r.isCorrect, r.analysisStatus,"
+                        + " r.logic, r.creativity, r.focus, r.diversity, r.depth, r.totalScore, r.createdAt)"
+                        + " from GameResult r left join Scenario s on s.scenIdx = r.scenIdx"
+                        + " where r.userIdx = :userIdx"
+                        + (cursor != null ? " and r.resultId < :cursor" : "")
+                        + " order by r.resultId desc", GameHistoryItem.class);
+        q.setParameter("userIdx", userIdx);
+        if (cursor != null) q.setParameter("cursor", cursor);
+        q.setMaxResults(size + 1); // 한 건 더 읽어 다음 페이지 유무 판단
+        List<GameHistoryItem> rows = q.getResultList();
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) rows = rows.subList(0, size);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", rows);
+        body.put("nextCursor", hasMore ? rows.get(rows.size() - 1).getResultId() : null);
+        return body;
+    }
+}
@@ -3,13 +3,18 @@ package com.lingoguma.detective_backend.game.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lingoguma.detective_backend.game.dto.GameFinishRequest;
+import com.lingoguma.detective_backend.game.entity.AnalysisStatus;
 import com.lingoguma.detective_backend.game.entity.GameResult;
 import com.lingoguma.detective_backend.game.repository.GameResultRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -17,16 +22,20 @@ public class GameResultService {
 
     private final GameResultRepository repo;
     private final ObjectMapper mapper; // Bean 주입
+    private final SkillPercentileService percentiles;
+    private final UserGameStatsService userStats;
 
     @Transactional
     public Integer saveResult(GameFinishRequest req, String skillsJsonStr, boolean isCorrect) {
+        return saveResult(req, skillsJsonStr, isCorrect, AnalysisStatus.DONE);
+    }
+
+    // skillsJsonStr == null + PENDING: 분석 워커가 completeAnalysis로 채움
+    @Transactional
+    public Integer saveResult(GameFinishRequest req, String skillsJsonStr, boolean isCorrect, AnalysisStatus status) {
         try {
-            // answerJson → JSON 변환
-            Map<String, Object> answerMap = mapper.convertValue(
-                    req.getAnswerJson(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
-            String answerJsonStr = mapper.writeValueAsString(answerMap);
+            // answerJson(이미 Map) → JSON 문자열 한 번에 직렬화
+            String answerJsonStr = mapper.writeValueAsString(req.getAnswerJson());
 
             GameResult gr = GameResult.builder()
                     .sessionId(req.getSessionId())
@@ -35,11 +44,144 @@ public class GameResultService {
                     .answerJson(answerJsonStr)
                     .skillsJson(skillsJsonStr)
                     .isCorrect(isCorrect) // 서버 계산 correct 반영
+                    .analysisStatus(status)
                     .build();
+            applySkillColumns(gr, skillsJsonStr);
 
-            return repo.save(gr).getResultId();
+            GameResult saved = repo.save(gr);
+            userStats.onResultSaved(saved);
+            return saved.getResultId();
         } catch (Exception e) {
             throw new RuntimeException("결과 저장 실패", e);
         }
     }
+
+    // ==============================
+    // 비동기 분석 완료 반영
+    // ==============================
+    @Transactional
+    public GameResult completeAnalysis(Integer resultId, String skillsJsonStr, AnalysisStatus status) {
+        GameResult gr = repo.findById(resultId)
+                .orElseThrow(() -> new RuntimeException("결과없음"));
+        int[] before = SkillPercentileService.valuesOf(gr);
+        gr.setSkillsJson(skillsJsonStr);
+        // FAILED는 0점 skillsJson이라도 정규화 컬럼 비움 → 리더보드/백분위 제외
+        applySkillColumns(gr, status == AnalysisStatus.FAILED ? null : skillsJsonStr);
+        gr.setAnalysisStatus(status);
+        GameResult saved = repo.save(gr);
+        userStats.onScoresChanged(saved.getUserIdx(), before, SkillPercentileService.valuesOf(saved));
+        return saved;
+    }
+
+    // ==============================
+    // 일괄 재채점 반영 (resultId → skillsJson), 한 트랜잭션에서 saveAll
+    // ==============================
+    @Transactional
+    public int applyRescores(Map<Integer, String> skillsByResultId) {
+        if (skillsByResultId.isEmpty()) return 0;
+        List<GameResult> rows = repo.findAllById(skillsByResultId.keySet());
+        for (GameResult gr : rows) {
+            gr.setSkillsJson(skillsByResultId.get(gr.getResultId()));
+            applySkillColumns(gr, gr.getSkillsJson());
+            gr.setAnalysisStatus(AnalysisStatus.DONE);
+        }
+        repo.saveAll(rows);
+        // 최고점이 내려갈 수 있으므로 영향받은 유저 통계는 재구성
+        rows.stream().map(GameResult::getUserIdx).filter(Objects::nonNull).distinct()
+                .forEach(userStats::rebuild);
+        return rows.size();
+    }
+
+    // ==============================
+    // 정규화 컬럼 백필 (컬럼 도입 이전 행), 시작 후 별도 스레드에서 500건씩
+    //  - FAILED 행은 컬럼을 비워 두는 것이 정상 → 이전 백필이 채운 값은 다시 비움
+    // ==============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSkillColumns() {
+        Thread t = new Thread(() -> {
+            int after = 0;
+            long changed = 0;
+            try {
+                while (true) {
+                    List<GameResult> rows = repo
+                            .findTop500BySkillsJsonIsNotNullAndTotalScoreIsNullAndAnalysisStatusIsNullAndResultIdGreaterThanOrderByResultIdAsc(after);
+                    if (rows.isEmpty()) break;
+                    for (GameResult gr : rows) applySkillColumns(gr, gr.getSkillsJson());
+                    repo.saveAll(rows);
+                    changed += rows.stream().filter(gr -> gr.getTotalScore() != null).count();
+                    after = rows.get(rows.size() - 1).getResultId();
+                }
+                after = 0;
+                while (true) {
+                    List<GameResult> rows = repo.findTop500ByAnalysisStatusAndTotalScoreIsNotNullAndResultIdGreaterThanOrderByResultIdAsc(
+                            AnalysisStatus.FAILED, after);
+                    if (rows.isEmpty()) break;
+                    for (GameResult gr : rows) applySkillColumns(gr, null);
+                    repo.saveAll(rows);
+                    changed += rows.size();
+                    after = rows.get(rows.size() - 1).getResultId();
+                }
+                if (changed > 0) {
+                    userStats.invalidateAll(); // 백필 전 컬럼으로 만든 유저 통계 폐기
+                }
+            } catch (Exception e) {
+                System.err.println("스킬 컬럼 백필 실패(resultId>" + after + "): " + e.getMessage());
+            }
+            // 백필된 컬럼 기준으로 백분위 분포 적재
+            try {
+                percentiles.load();
+            } catch (Exception e) {
+                System.err.println("스킬 백분위 적재 실패: " + e.getMessage());
+            }
+        }, "skill-backfill");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    // ==============================
+    // skillsJson → 정규화 컬럼 (logic/creativity/focus/diversity/depth/totalScore)
+    //  - 파싱 실패/빈 값이면 모두 null (리더보드 제외)
+    //  - 바뀐 값은 시나리오 백분위 분포에도 반영 (이전 값 제거 → 새 값 추가)
+    // ==============================
+    public void applySkillColumns(GameResult gr, String skillsJsonStr) {
+        int[] before = SkillPercentileService.valuesOf(gr);
+        setSkillColumns(gr, skillsJsonStr);
+        percentiles.onChange(gr.getScenIdx(), before, SkillPercentileService.valuesOf(gr));
+    }
+
+    private void setSkillColumns(GameResult gr, String skillsJsonStr) {
+        Map<String, Object> skills = null;
+        if (skillsJsonStr != null && !skillsJsonStr.isBlank()) {
+            try {
+                skills = mapper.readValue(skillsJsonStr, new TypeReference<Map<String, Object>>() {});
+            } catch (Exception ignore) {
+                // 형식 오류 → null 처리
+            }
+        }
+        if (skills == null || skills.isEmpty()) {
+            gr.setLogic(null);
+            gr.setCreativity(null);
+            gr.setFocus(null);
+            gr.setDiversity(null);
+            gr.setDepth(null);
+            gr.setTotalScore(null);
+            return;
+        }
+        gr.setLogic(skillInt(skills.get("logic")));
+        gr.setCreativity(skillInt(skills.get("creativity")));
+        gr.setFocus(skillInt(skills.get("focus")));
+        gr.setDiversity(skillInt(skills.get("diversity")));
+        gr.setDepth(skillInt(skills.get("depth")));
+        gr.setTotalScore(gr.getLogic() + gr.getCreativity() + gr.getFocus() + gr.getDiversity() + gr.getDepth());
+    }
+
+    private int skillInt(Object v) {
+        int iv = 0;
+        if (v instanceof Number n) {
+            iv = (int) Math.round(n.doubleValue());
+        } else if (v instanceof String str) {
+            try { iv = (int) Math.round(Double.parseDouble(str)); } catch (Exception ignored) {}
+        }
+        return Math.max(0, Math.min(100, iv));
+    }
 }
@@ -2,11 +2,15 @@ package com.lingoguma.detective_backend.game.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.dto.SessionMetrics;
 import com.lingoguma.detective_backend.game.entity.GameSession;
 import com.lingoguma.detective_backend.game.entity.GameStatus;
 import com.lingoguma.detective_backend.game.repository.GameSessionRepository;
+import com.lingoguma.detective_backend.game.journal.GameJournal;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
 import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioSnapshot;
+import com.lingoguma.detective_backend.scenario.service.ScenarioVersionService;
 import com.lingoguma.detective_backend.user.entity.User;
 import com.lingoguma.detective_backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +29,8 @@ public class GameSessionService {
     private final ScenarioRepository scenarioRepository;
     private final UserRepository userRepository;
     private final ObjectMapper mapper;
+    private final GameJournal journal;
+    private final ScenarioVersionService versionService;
 
     // ==============================
     // 세션 시작
@@ -42,23 +48,40 @@ public class GameSessionService {
 
         GameSession session = GameSession.builder()
                 .scenario(scenario)
+                .scenVersionId(versionService.pin(scenario))
                 .user(user)
                 .status(GameStatus.PLAYING)
                 .logJson("{\"logs\":[]}")
                 .build();
 
         GameSession saved = repo.save(session);
+        journal.sessionStarted(saved.getSessionId(), scenIdx, userIdx == null ? 0 : userIdx);
         return saved.getSessionId();
     }
 
     // ==============================
-    // 세션에 연결된 시나리오 조회
+    // 세션에 고정된 시나리오 버전 스냅샷 (진행 중 시나리오가 바뀌어도 시작 시점 내용)
+    //  - 버전 도입 전 세션은 현재 내용으로 한 번 고정
+    // ==============================
+    @Transactional
+    public ScenarioSnapshot getSnapshot(Integer sessionId) {
+        GameSession s = repo.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("세션 없음"));
+        if (s.getScenVersionId() == null) {
+            s.setScenVersionId(versionService.pin(s.getScenario()));
+            repo.save(s);
+        }
+        return versionService.snapshot(s.getScenVersionId());
+    }
+
+    // ==============================
+    // 세션 플레이어 조회 (게스트면 null)
     // ==============================
     @Transactional(readOnly = true)
-    public Scenario getScenario(Integer sessionId) {
+    public User getUser(Integer sessionId) {
         GameSession s = repo.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("세션 없음"));
-        return s.getScenario();
+        return s.getUser();
     }
 
     // ==============================
@@ -94,6 +117,7 @@ public class GameSessionService {
             List<Map<String, Object>> logs = toLogList(root.get("logs"));
             int turn = (logs.size() / 2) + 1;
             long now = System.currentTimeMillis() / 1000L;
+            SessionMetrics metrics = loadMetrics(s.getMetricsJson(), logs);
 
             Map<String, Object> safeUser = new java.util.HashMap<>(userLog == null ? Map.of() : userLog);
             safeUser.putIfAbsent("speaker", "PLAYER");
@@ -115,9 +139,11 @@ public class GameSessionService {
 
             logs.add(safeUser);
             logs.add(safeNpc);
+            accumulate(metrics, safeUser);
 
             root.put("logs", logs);
             s.setLogJson(mapper.writeValueAsString(root));
+            s.setMetricsJson(mapper.writeValueAsString(metrics));
             repo.save(s);
         } catch (Exception e) {
             throw new RuntimeException("세션 로그 업데이트 실패(appendLogRich)", e);
@@ -141,6 +167,7 @@ public class GameSessionService {
             List<Map<String, Object>> logs = toLogList(root.get("logs"));
             int turn = (logs.size() / 2) + 1;
             long now = System.currentTimeMillis() / 1000L;
+            SessionMetrics metrics = loadMetrics(s.getMetricsJson(), logs);
 
             logs.add(Map.of(
                     "turn", turn,
@@ -158,8 +185,11 @@ public class GameSessionService {
                     "ts", now + 1
             ));
 
+            accumulate(metrics, logs.get(logs.size() - 2));
+
             root.put("logs", logs);
             s.setLogJson(mapper.writeValueAsString(root));
+            s.setMetricsJson(mapper.writeValueAsString(metrics));
             repo.save(s);
 
         } catch (Exception e) {
@@ -167,6 +197,31 @@ public class GameSessionService {
         }
     }
 
+    // ==============================
+    // 누적 지표 조회 (컬럼 도입 전 세션은 로그에서 한 번 재구성)
+    // ==============================
+    @Transactional(readOnly = true)
+    public SessionMetrics getMetrics(Integer sessionId) {
+        GameSession s = repo.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("세션 없음"));
+        if (s.getMetricsJson() != null && !s.getMetricsJson().isBlank()) {
+            try {
+                return mapper.readValue(s.getMetricsJson(), SessionMetrics.class);
+            } catch (Exception ignore) {
+                // 손상된 값 → 로그에서 재구성
+            }
+        }
+        try {
+            Map<String, Object> root = mapper.readValue(
+                    (s.getLogJson() == null || s.getLogJson().isBlank()) ? "{\"logs\":[]}" : s.getLogJson(),
+                    new TypeReference<Map<String, Object>>() {}
+            );
+            return loadMetrics(null, toLogList(root.get("logs")));
+        } catch (Exception e) {
+            return new SessionMetrics();
+        }
+    }
+
     // ==============================
     // 세션 종료
     // ==============================
@@ -181,6 +236,57 @@ public class GameSessionService {
     // ==============================
     // 내부 유틸
     // ==============================
+    // 저장된 누적 지표 읽기. 없으면(이전 세션) 지금까지의 로그로 재구성
+    private SessionMetrics loadMetrics(String metricsJson, List<Map<String, Object>> priorLogs) {
+        if (metricsJson != null && !metricsJson.isBlank()) {
+            try {
+                return mapper.readValue(metricsJson, SessionMetrics.class);
+            } catch (Exception ignore) {
+                // 손상된 값 → 재구성
+            }
+        }
+        SessionMetrics m = new SessionMetrics();
+        for (Map<String, Object> l : priorLogs) accumulate(m, l);
+        return m;
+    }
+
+    // PLAYER 질문 1건 반영 (SkillScorer와 같은 판정 규칙)
+    private void accumulate(SessionMetrics m, Map<String, Object> log) {
+        if (!"PLAYER".equalsIgnoreCase(String.valueOf(log.get("speaker")))) return;
+        String msg = log.get("message") == null ? "" : String.valueOf(log.get("message")).strip();
+        if (msg.isEmpty()) return;
+
+        int len = SkillScorer.len(msg);
+        int index = m.getQuestionCount();
+        m.setQuestionCount(index + 1);
+        m.setTotalLength(m.getTotalLength() + len);
+        m.setPenaltySum(m.getPenaltySum() + SkillScorer.nonsensePenalty(msg));
+        if (SkillScorer.isTrivial(msg)) {
+            m.setTrivialCount(m.getTrivialCount() + 1);
+            m.getTrivialIndexes().add(index);
+        } else {
+            m.setMeaningfulLength(m.getMeaningfulLength() + len);
+            for (String t : SkillScorer.tokenize(msg)) {
+                // 상한 이후에는 집합과 토큰 수 모두 멈춤 → 다양성 비율이 아래로 치우치지 않음
+                if (m.getTokens().size() >= SessionMetrics.MAX_TOKENS) break;
+                m.getTokens().add(t);
+                m.setTokenCount(m.getTokenCount() + 1);
+            }
+        }
+
+        Object metaObj = log.get("meta");
+        if (metaObj instanceof Map<?, ?> meta) {
+            Object level = meta.get("triggerLevel");
+            if (level != null) m.getTriggerLevels().merge(String.valueOf(level), 1, Integer::sum);
+            if (meta.get("firedEvidenceIds") instanceof List<?> ids) {
+                for (Object id : ids) m.getFiredEvidenceIds().add(String.valueOf(id));
+            }
+        }
+        Object suspect = log.get("suspect");
+        if (suspect != null) m.getSuspectTurns().merge(String.valueOf(suspect), 1, Integer::sum);
+        if (log.get("turn") instanceof Number n) m.setLastTurn(n.intValue());
+    }
+
     private List<Map<String, Object>> toLogList(Object logsObj) {
         List<Map<String, Object>> logs;
         if (logsObj == null) {
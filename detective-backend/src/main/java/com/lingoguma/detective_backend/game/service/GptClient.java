@@ -18,7 +18,16 @@ public class GptClient {
     @Value("${openai.api.key}")
     private String openaiApiKey;
 
+    /**
+     * GPT 응답 본문 + usage(토큰 사용량)
+     */
+    public record ChatResult(String content, long promptTokens, long completionTokens, long totalTokens) {}
+
     public String chat(List<Map<String, String>> messages) {
+        return chatWithUsage(messages).content();
+    }
+
+    public ChatResult chatWithUsage(List<Map<String, String>> messages) {
         String url = "https://api.openai.com/v1/chat/completions";
 
         Map<String, Object> body = Map.of(
@@ -49,6 +58,17 @@ public class GptClient {
         Map<String, Object> first = choices.get(0);
         Map<String, Object> msg = (Map<String, Object>) first.get("message");
 
-        return (String) msg.get("content");
+        // usage: { prompt_tokens, completion_tokens, total_tokens } (없으면 0)
+        Map<String, Object> usage = (Map<String, Object>) resp.getOrDefault("usage", Map.of());
+        return new ChatResult(
+                (String) msg.get("content"),
+                toLong(usage.get("prompt_tokens")),
+                toLong(usage.get("completion_tokens")),
+                toLong(usage.get("total_tokens"))
+        );
+    }
+
+    private long toLong(Object v) {
+        return (v instanceof Number) ? ((Number) v).longValue() : 0L;
     }
 }
@@ -0,0 +1,134 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.dto.LeaderboardEntry;
+import com.lingoguma.detective_backend.game.entity.GameResult;
+import com.lingoguma.detective_backend.user.entity.User;
+import com.lingoguma.detective_backend.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 리더보드 (전체 / 시나리오별)
+ * - 정렬: metric desc, resultId desc → (metric, resultId) / (scenIdx, metric, resultId) 인덱스 순회
+ * - keyset 페이지: cursor = "점수:resultId" (직전 페이지 마지막 행), OFFSET 없음
+ * - metric은 화이트리스트 컬럼만 허용 (JPQL에 그대로 들어가므로)
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    public static final Map<String, String> METRICS = Map.of(
+            "total", "totalScore",
+            "logic", "logic",
+            "creativity", "creativity",
+            "focus", "focus",
+            "diversity", "diversity",
+            "depth", "depth"
+    );
+    private static final int MAX_LIMIT = 100;
+
+    private final EntityManager em;
+    private final UserRepository userRepository;
+
+    /**
+     * @param scenIdx null이면 전체
+     * @return items + nextCursor(마지막 페이지면 null)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> page(Integer scenIdx, String metric, String cursor, int limit) {
+        String col = METRICS.get(metric == null ? "total" : metric);
+        if (col == null) {
+            throw new IllegalArgumentException("지원하지 않는 metric: " + metric);
+        }
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Integer afterScore = null;
+        Integer afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split(":");
+            try {
+                afterScore = Integer.parseInt(parts[0]);
+                afterId = Integer.parseInt(parts[1]);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("잘못된 cursor: " + cursor);
+            }
+        }
+
+        StringBuilder jpql = new StringBuilder("select r from GameResult r where r.")
+                .append(col).append(" is not null and r.userIdx is not null");
+        if (scenIdx != null) jpql.append(" and r.scenIdx = :scenIdx");
+        if (afterScore != null) {
+            jpql.append(" and (r.").append(col).append(" < :afterScore or (r.")
+                    .append(col).append(" = :afterScore and r.resultId < :afterId))");
+        }
+        jpql.append(" order by r.").append(col).append(" desc, r.resultId desc");
+
+        TypedQuery<GameResult> q = em.createQuery(jpql.toString(), GameResult.class);
+        if (scenIdx != null) q.setParameter("scenIdx", scenIdx);
+        if (afterScore != null) {
+            q.setParameter("afterScore", afterScore);
+            q.setParameter("afterId", afterId);
+        }
+        q.setMaxResults(size + 1); // 한 건 더 읽어 다음 페이지 유무 판단
+        List<GameResult> rows = q.getResultList();
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) rows = rows.subList(0, size);
+
+        Set<Integer> userIds = rows.stream().map(GameResult::getUserIdx).collect(Collectors.toSet());
+        Map<Integer, String> nicknames = userIds.isEmpty() ? new HashMap<>()
+                : userRepository.findAllById(userIds).stream()
+                        .collect(Collectors.toMap(User::getUserIdx, u -> String.valueOf(u.getNickname())));
+
+        Function<GameResult, Integer> scoreOf = scoreGetter(col);
+        List<LeaderboardEntry> items = rows.stream().map(r -> LeaderboardEntry.builder()
+                .resultId(r.getResultId())
+                .userIdx(r.getUserIdx())
+                .nickname(nicknames.get(r.getUserIdx()))
+                .scenIdx(r.getScenIdx())
+                .score(scoreOf.apply(r))
+                .logic(r.getLogic())
+                .creativity(r.getCreativity())
+                .focus(r.getFocus())
+                .diversity(r.getDiversity())
+                .depth(r.getDepth())
+                .totalScore(r.getTotalScore())
+                .correct(r.isCorrect())
+                .createdAt(r.getCreatedAt())
+                .build()).toList();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("metric", metric == null ? "total" : metric);
+        body.put("scenIdx", scenIdx);
+        body.put("items", items);
+        if (hasMore) {
+            GameResult last = rows.get(rows.size() - 1);
+            body.put("nextCursor", scoreOf.apply(last) + ":" + last.getResultId());
+        } else {
+            body.put("nextCursor", null);
+        }
+        return body;
+    }
+
+    private Function<GameResult, Integer> scoreGetter(String col) {
+        return switch (col) {
+            case "logic" -> GameResult::getLogic;
+            case "creativity" -> GameResult::getCreativity;
+            case "focus" -> GameResult::getFocus;
+            case "diversity" -> GameResult::getDiversity;
+            case "depth" -> GameResult::getDepth;
+            default -> GameResult::getTotalScore;
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.repository.LlmUsageRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GPT 호출 쿼터 (ask 경로에서 카운터만 확인 → O(1))
+ * - 세션당 최대 질문 수        : llm.quota.per-session
+ * - 회원 1인당 일일 질문 수    : llm.quota.per-user-daily
+ * - 게스트 IP당 일일 질문 수   : llm.quota.per-guest-ip-daily
+ * - 0 이하이면 해당 쿼터 미적용
+ * - 일일 카운터는 날짜가 바뀌면 초기화
+ * - 회원 카운터는 시작 시(요청 받기 전) 오늘 원장 합계(DB 반영분 + 미반영 누적분)로 한 번에 채움
+ *   → ask 경로는 DB를 읽지 않음, 시작 후에는 모든 호출이 카운터를 거치므로 없는 유저는 0부터
+ * - 게스트 IP 카운터는 메모리에만 있음 → 재시작하면 그날 사용량이 0으로 초기화됨
+ *   (원장은 세션 단위라 IP별 합계를 복원할 수 없음, 게스트 남용 방어는 세션/공정 큐와 함께 동작)
+ * - 세션 카운터는 로그의 기존 질문 수로 시작하므로 재시작/초기화 후에도 값이 유지됨
+ */
+@Component
+public class LlmQuotaGuard {
+
+    private final LlmUsageRepository usageRepository;
+    private final LlmUsageLedger usageLedger;
+    private final int perSession;
+    private final int perUserDaily;
+    private final int perGuestIpDaily;
+
+    private final ConcurrentHashMap<Integer, AtomicInteger> sessionCalls = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, AtomicInteger> userDailyCalls = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> guestIpDailyCalls = new ConcurrentHashMap<>();
+    private volatile LocalDate day = LocalDate.now();
+
+    public LlmQuotaGuard(
+            LlmUsageRepository usageRepository,
+            LlmUsageLedger usageLedger,
+            @Value("${llm.quota.per-session:200}") int perSession,
+            @Value("${llm.quota.per-user-daily:500}") int perUserDaily,
+            @Value("${llm.quota.per-guest-ip-daily:100}") int perGuestIpDaily
+    ) {
+        this.usageRepository = usageRepository;
+        this.usageLedger = usageLedger;
+        this.perSession = perSession;
+        this.perUserDaily = perUserDaily;
+        this.perGuestIpDaily = perGuestIpDaily;
+    }
+
+    // ==============================
+    // 회원 일일 카운터 초기값 (웹 서버가 요청을 받기 전, 유저별 합계 쿼리 한 번)
+    // ==============================
+    @PostConstruct
+    public void seedUserCounters() {
+        if (perUserDaily <= 0) return;
+        LocalDate today = day;
+        try {
+            for (Object[] row : usageRepository.sumCallsByUser(today)) {
+                long calls = row[1] instanceof Number n ? n.longValue() : 0L;
+                userDailyCalls.computeIfAbsent((Integer) row[0], k -> new AtomicInteger()).addAndGet((int) calls);
+            }
+        } catch (Exception e) {
+            System.err.println("쿼터 카운터 초기화 실패(원장 조회): " + e.getMessage());
+        }
+        for (Map.Entry<Integer, Long> e : usageLedger.pendingCallsByUser(today).entrySet()) {
+            userDailyCalls.computeIfAbsent(e.getKey(), k -> new AtomicInteger()).addAndGet(e.getValue().intValue());
+        }
+    }
+
+    /**
+     * 쿼터 확인 + 차감
+     * @param priorTurns 이 세션에서 이미 진행된 질문 수 (재시작 후 세션 카운터 초기값)
+     * @return 초과 시 사유 메시지, 통과 시 null
+     */
+    public String tryAcquire(Integer sessionId, int priorTurns, Integer userIdx, String clientIp) {
+        rollDayIfNeeded();
+
+        AtomicInteger s = sessionCalls.computeIfAbsent(sessionId, k -> new AtomicInteger(priorTurns));
+        if (!tryIncrement(s, perSession)) {
+            return "이 사건에서 할 수 있는 질문 횟수를 모두 사용했습니다.";
+        }
+
+        if (userIdx != null) {
+            AtomicInteger u = userDailyCalls.computeIfAbsent(userIdx, k -> new AtomicInteger());
+            if (!tryIncrement(u, perUserDaily)) {
+                s.decrementAndGet();
+                return "오늘 사용할 수 있는 질문 횟수를 모두 사용했습니다.";
+            }
+        } else if (clientIp != null) {
+            AtomicInteger g = guestIpDailyCalls.computeIfAbsent(clientIp, k -> new AtomicInteger());
+            if (!tryIncrement(g, perGuestIpDaily)) {
+                s.decrementAndGet();
+                return "게스트 일일 질문 횟수를 모두 사용했습니다. 로그인하면 더 질문할 수 있습니다.";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * GPT 답변을 받지 못한 경우(대기 초과, 호출 실패) 차감분 되돌리기
+     */
+    public void refund(Integer sessionId, Integer userIdx, String clientIp) {
+        decrement(sessionCalls.get(sessionId));
+        if (userIdx != null) {
+            decrement(userDailyCalls.get(userIdx));
+        } else if (clientIp != null) {
+            decrement(guestIpDailyCalls.get(clientIp));
+        }
+    }
+
+    // 세션 종료 시 세션 카운터 정리
+    public void forgetSession(Integer sessionId) {
+        sessionCalls.remove(sessionId);
+    }
+
+    // ==============================
+    // 내부 유틸
+    // ==============================
+    private boolean tryIncrement(AtomicInteger counter, int limit) {
+        if (limit <= 0) {
+            counter.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int cur = counter.get();
+            if (cur >= limit) return false;
+            if (counter.compareAndSet(cur, cur + 1)) return true;
+        }
+    }
+
+    private void decrement(AtomicInteger counter) {
+        if (counter != null) counter.updateAndGet(v -> Math.max(0, v - 1));
+    }
+
+    private void rollDayIfNeeded() {
+        LocalDate today = LocalDate.now();
+        if (today.equals(day)) return;
+        synchronized (this) {
+            if (today.equals(day)) return;
+            // 새 날짜의 호출은 모두 이후 카운터를 거치므로 원장 재조회 없이 0부터
+            userDailyCalls.clear();
+            guestIpDailyCalls.clear();
+            sessionCalls.clear(); // 버려진 세션 정리 (다음 질문 때 priorTurns로 재시작)
+            day = today;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.user.entity.Role;
+import com.lingoguma.detective_backend.user.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * GPT 호출 슬롯 스케줄러 (가중 공정 큐잉, WFQ)
+ * - 동시에 나갈 수 있는 GPT 호출 수를 슬롯(llm.scheduler.max-concurrent)으로 제한
+ * - 슬롯이 없으면 유저별 흐름(flow) 단위로 가상 종료시각(finish tag)을 부여하고, 가장 작은 값부터 슬롯 배정
+ * - 흐름 가중치는 Role(ADMIN/EXPERT/MEMBER)과 게스트 여부로 결정 → 한 유저가 요청을 몰아도 자기 몫만큼만 진행
+ * - 클래스별 대기 시간(건수/평균/최대)을 집계해 관리자 지표로 노출
+ */
+@Component
+public class LlmScheduler {
+
+    // 스케줄링 클래스 (게스트 = userIdx 없는 세션)
+    public enum LlmClass { ADMIN, EXPERT, MEMBER, GUEST }
+
+    /**
+     * 호출 티켓: 어떤 클래스의 어떤 흐름(유저/게스트 IP)인지
+     * - 게스트 흐름 키는 반드시 서버가 확인한 주소(GameController.clientIp, 신뢰 프록시만 반영) → 게스트 쿼터 키와 같은 값
+     *   요청 헤더 값을 쓰면 게스트가 값을 바꿔 가며 흐름을 여러 개 만들어 공정 몫을 우회할 수 있음
+     */
+    public record Ticket(LlmClass llmClass, String flowKey) {
+        public static Ticket of(User user, String trustedRemoteAddr) {
+            if (user == null) {
+                return new Ticket(LlmClass.GUEST, "guest:" + trustedRemoteAddr);
+            }
+            Role role = user.getRole() == null ? Role.MEMBER : user.getRole();
+            return new Ticket(LlmClass.valueOf(role.name()), "user:" + user.getUserIdx());
+        }
+    }
+
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Map<LlmClass, Double> weights = new EnumMap<>(LlmClass.class);
+
+    // 아래 상태는 모두 lock으로 보호
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+    private final Map<String, Flow> flows = new HashMap<>();
+    private int inFlight = 0;
+    private double virtualTime = 0.0; // SCFQ: 마지막으로 슬롯을 받은 요청의 finish tag
+    private long seq = 0;
+
+    private final Map<LlmClass, ClassStats> stats = new EnumMap<>(LlmClass.class);
+
+    public LlmScheduler(
+            @Value("${llm.scheduler.max-concurrent:8}") int maxConcurrent,
+            @Value("${llm.scheduler.max-wait-ms:30000}") long maxWaitMs,
+            @Value("${llm.scheduler.weight.admin:8}") double adminWeight,
+            @Value("${llm.scheduler.weight.expert:4}") double expertWeight,
+            @Value("${llm.scheduler.weight.member:2}") double memberWeight,
+            @Value("${llm.scheduler.weight.guest:1}") double guestWeight
+    ) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxWaitMs = maxWaitMs;
+        weights.put(LlmClass.ADMIN, Math.max(0.01, adminWeight));
+        weights.put(LlmClass.EXPERT, Math.max(0.01, expertWeight));
+        weights.put(LlmClass.MEMBER, Math.max(0.01, memberWeight));
+        weights.put(LlmClass.GUEST, Math.max(0.01, guestWeight));
+        for (LlmClass c : LlmClass.values()) stats.put(c, new ClassStats());
+    }
+
+    // ==============================
+    // 슬롯 획득 → 호출 → 반납
+    // ==============================
+    public <T> T run(Ticket ticket, Supplier<T> call) {
+        acquire(ticket);
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    private void acquire(Ticket ticket) {
+        long enqueuedAt = System.nanoTime();
+        ClassStats cs = stats.get(ticket.llmClass());
+        lock.lock();
+        try {
+            Flow flow = flows.computeIfAbsent(ticket.flowKey(), k -> new Flow());
+            double start = Math.max(virtualTime, flow.lastFinish);
+            double finish = start + 1.0 / weights.get(ticket.llmClass());
+            flow.lastFinish = finish;
+
+            // 대기열이 비어 있고 슬롯이 남으면 즉시 통과
+            if (queue.isEmpty() && inFlight < maxConcurrent) {
+                inFlight++;
+                virtualTime = Math.max(virtualTime, finish);
+                cleanupFlow(ticket.flowKey(), flow);
+                cs.record(System.nanoTime() - enqueuedAt);
+                return;
+            }
+
+            Waiter w = new Waiter(ticket, finish, seq++, lock.newCondition());
+            flow.queued++;
+            queue.add(w);
+            cs.queued.incrementAndGet();
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (!w.granted) {
+                    if (remaining <= 0L) {
+                        queue.remove(w);
+                        flow.queued--;
+                        cs.timeouts.increment();
+                        throw new QueueTimeoutException(ticket.llmClass());
+                    }
+                    remaining = w.cond.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                flow.queued--;
+                if (w.granted) {
+                    // 이미 슬롯을 받은 뒤 인터럽트 → 슬롯 반납
+                    releaseLocked();
+                } else {
+                    queue.remove(w);
+                }
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("GPT 호출 대기 중 인터럽트", e);
+            } finally {
+                cs.queued.decrementAndGet();
+            }
+            flow.queued--;
+            cleanupFlow(ticket.flowKey(), flow);
+            cs.record(System.nanoTime() - enqueuedAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 슬롯 반납: 대기열 선두(가장 작은 finish tag)에게 슬롯을 그대로 넘김
+    private void releaseLocked() {
+        Waiter next = queue.poll();
+        if (next == null) {
+            inFlight--;
+            flows.clear(); // 경합이 없으면 흐름별 누적 몫도 초기화
+            return;
+        }
+        virtualTime = Math.max(virtualTime, next.finish);
+        next.granted = true;
+        next.cond.signal();
+    }
+
+    // 대기 중인 요청이 없고 가상시간에 따라잡힌 흐름은 정리 (유저 수만큼 맵이 커지지 않도록)
+    private void cleanupFlow(String key, Flow flow) {
+        if (flow.queued == 0 && flow.lastFinish <= virtualTime) {
+            flows.remove(key);
+        }
+    }
+
+    // ==============================
+    // 지표 (클래스별 대기 시간)
+    // ==============================
+    public Map<String, Object> snapshot() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            out.put("maxConcurrent", maxConcurrent);
+            out.put("inFlight", inFlight);
+            out.put("queued", queue.size());
+            out.put("activeFlows", flows.size());
+        } finally {
+            lock.unlock();
+        }
+        Map<String, Object> perClass = new LinkedHashMap<>();
+        for (LlmClass c : LlmClass.values()) {
+            ClassStats cs = stats.get(c);
+            long n = cs.count.sum();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("weight", weights.get(c));
+            m.put("calls", n);
+            m.put("queuedNow", cs.queued.get());
+            m.put("timeouts", cs.timeouts.sum());
+            m.put("avgWaitMs", n == 0 ? 0.0 : cs.totalWaitNanos.sum() / (double) n / 1_000_000.0);
+            m.put("maxWaitMs", cs.maxWaitNanos.get() / 1_000_000.0);
+            perClass.put(c.name(), m);
+        }
+        out.put("classes", perClass);
+        return out;
+    }
+
+    // ==============================
+    // 내부 구조
+    // ==============================
+    /**
+     * 대기 한도(llm.scheduler.max-wait-ms) 초과 → 컨트롤러에서 503으로 응답
+     */
+    public static class QueueTimeoutException extends RuntimeException {
+        public QueueTimeoutException(LlmClass llmClass) {
+            super("GPT 호출 대기 시간 초과 (" + llmClass + ")");
+        }
+    }
+
+    private static final class Flow {
+        double lastFinish = 0.0;
+        int queued = 0;
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+        final Ticket ticket;
+        final double finish;
+        final long seq;
+        final Condition cond;
+        boolean granted = false;
+
+        Waiter(Ticket ticket, double finish, long seq, Condition cond) {
+            this.ticket = ticket;
+            this.finish = finish;
+            this.seq = seq;
+            this.cond = cond;
+        }
+
+        @Override
+        public int compareTo(Waiter o) {
+            int c = Double.compare(finish, o.finish);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+
+    private static final class ClassStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalWaitNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        final AtomicLong queued = new AtomicLong();
+        final LongAdder timeouts = new LongAdder();
+
+        void record(long waitNanos) {
+            count.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.entity.LlmUsage;
+import com.lingoguma.detective_backend.game.repository.LlmUsageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GPT 사용량 원장
+ * - GptClient 응답의 usage를 (일자, 세션) 단위로 메모리에 누적
+ * - 주기적으로(llm.usage.flush-interval-ms) 한 번에 DB에 반영 → 질문마다 쓰기 쿼리가 늘지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class LlmUsageLedger {
+
+    private final LlmUsageRepository repo;
+
+    private record Key(LocalDate date, Integer sessionId) {}
+
+    // flush가 떼어간 Delta는 retired 처리 → 늦게 도착한 기록은 새 Delta로 다시 들어감
+    private static final class Delta {
+        final Integer userIdx;
+        final Integer scenIdx;
+        long calls, promptTokens, completionTokens, totalTokens;
+        boolean retired = false;
+
+        Delta(Integer userIdx, Integer scenIdx) {
+            this.userIdx = userIdx;
+            this.scenIdx = scenIdx;
+        }
+    }
+
+    private final ConcurrentHashMap<Key, Delta> pending = new ConcurrentHashMap<>();
+
+    // ==============================
+    // 기록 (ask 경로, DB 접근 없음)
+    // ==============================
+    public void record(Integer sessionId, Integer userIdx, Integer scenIdx, GptClient.ChatResult usage) {
+        Key key = new Key(LocalDate.now(), sessionId);
+        while (true) {
+            Delta d = pending.computeIfAbsent(key, k -> new Delta(userIdx, scenIdx));
+            synchronized (d) {
+                if (d.retired) continue;
+                d.calls++;
+                d.promptTokens += usage.promptTokens();
+                d.completionTokens += usage.completionTokens();
+                d.totalTokens += usage.totalTokens();
+                return;
+            }
+        }
+    }
+
+    // ==============================
+    // 주기적 일괄 반영
+    // ==============================
+    @Scheduled(fixedDelayString = "${llm.usage.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        // 1) 누적분 떼어내기 (일자별로 묶음)
+        Map<LocalDate, Map<Integer, Delta>> byDate = new HashMap<>();
+        for (Key key : new ArrayList<>(pending.keySet())) {
+            Delta d = pending.remove(key);
+            if (d == null) continue;
+            synchronized (d) {
+                d.retired = true;
+            }
+            byDate.computeIfAbsent(key.date(), k -> new HashMap<>()).put(key.sessionId(), d);
+        }
+
+        // 2) 일자별로 기존 행 한 번에 조회 → 합산 → saveAll
+        for (Map.Entry<LocalDate, Map<Integer, Delta>> e : byDate.entrySet()) {
+            LocalDate date = e.getKey();
+            Map<Integer, Delta> deltas = e.getValue();
+            try {
+                Map<Integer, LlmUsage> rows = new HashMap<>();
+                for (LlmUsage u : repo.findByUsageDateAndSessionIdIn(date, deltas.keySet())) {
+                    rows.put(u.getSessionId(), u);
+                }
+                List<LlmUsage> toSave = new ArrayList<>(deltas.size());
+                for (Map.Entry<Integer, Delta> de : deltas.entrySet()) {
+                    Delta d = de.getValue();
+                    LlmUsage row = rows.get(de.getKey());
+                    if (row == null) {
+                        row = LlmUsage.builder()
+                                .usageDate(date)
+                                .sessionId(de.getKey())
+                                .userIdx(d.userIdx)
+                                .scenIdx(d.scenIdx)
+                                .build();
+                    }
+                    row.setCalls(row.getCalls() + d.calls);
+                    row.setPromptTokens(row.getPromptTokens() + d.promptTokens);
+                    row.setCompletionTokens(row.getCompletionTokens() + d.completionTokens);
+                    row.setTotalTokens(row.getTotalTokens() + d.totalTokens);
+                    toSave.add(row);
+                }
+                repo.saveAll(toSave);
+            } catch (Exception ex) {
+                // 실패분은 다음 주기에 다시 시도
+                System.err.println("GPT 사용량 원장 저장 실패: " + ex.getMessage());
+                for (Map.Entry<Integer, Delta> de : deltas.entrySet()) {
+                    Delta d = de.getValue();
+                    requeue(new Key(date, de.getKey()), d);
+                }
+            }
+        }
+    }
+
+    private void requeue(Key key, Delta old) {
+        while (true) {
+            Delta d = pending.computeIfAbsent(key, k -> new Delta(old.userIdx, old.scenIdx));
+            synchronized (d) {
+                if (d.retired) continue;
+                d.calls += old.calls;
+                d.promptTokens += old.promptTokens;
+                d.completionTokens += old.completionTokens;
+                d.totalTokens += old.totalTokens;
+                return;
+            }
+        }
+    }
+
+    // 종료 시 남은 누적분 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // ==============================
+    // 조회 (관리자)
+    // ==============================
+    public List<LlmUsage> findByDate(LocalDate date) {
+        return repo.findByUsageDateOrderByTotalTokensDesc(date);
+    }
+
+    // 아직 반영 전인 유저별 호출 수 (쿼터 카운터 초기값 = DB 합계 + 이 값)
+    public Map<Integer, Long> pendingCallsByUser(LocalDate date) {
+        Map<Integer, Long> out = new HashMap<>();
+        for (Map.Entry<Key, Delta> e : pending.entrySet()) {
+            Delta d = e.getValue();
+            if (!e.getKey().date().equals(date) || d.userIdx == null) continue;
+            synchronized (d) {
+                out.merge(d.userIdx, d.calls, Long::sum);
+            }
+        }
+        return out;
+    }
+
+    public int pendingSize() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,129 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * NLP 분석 요청 압축 (시나리오 맥락 참조 + 플레이어 발화만 전송)
+ * - contextRef: 시나리오 맥락(caseTitle/caseSummary/facts/goldAnswer)의 SHA-256 → 같은 시나리오 내용이면 같은 값
+ * - NLP 서버가 이미 받은 맥락이면 맥락 필드를 빼고 contextRef만 보냄
+ * - logJson은 PLAYER 발화(+ 트리거 meta)만 남김 (NPC 답변 제외, NLP는 질문만 사용)
+ * - 서버 캐시 miss(409 / context_miss) 시 호출 측에서 전체 요청을 다시 보냄 → 그 요청으로 재등록
+ */
+@Component
+public class NlpPayloadCompactor {
+
+    private static final int KNOWN_MAX = 1024;
+
+    @Value("${nlp.compact.enabled:true}")
+    private boolean enabled;
+
+    // 키 정렬 직렬화 → 같은 맥락이면 같은 해시
+    private final ObjectMapper canonical = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    // NLP 서버에 등록된 것으로 확인된 contextRef
+    private final Set<String> known = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder compactSent = new LongAdder();
+    private final LongAdder fullSent = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public String contextRef(String caseTitle, String caseSummary, List<String> facts, Map<String, Object> goldAnswer) {
+        Map<String, Object> ctx = new LinkedHashMap<>();
+        ctx.put("caseTitle", caseTitle);
+        ctx.put("caseSummary", caseSummary);
+        ctx.put("facts", facts);
+        ctx.put("goldAnswer", goldAnswer);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.writeValueAsString(ctx).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            return null; // 해시 실패 시 항상 전체 전송
+        }
+    }
+
+    /**
+     * 전송용 요청: 등록된 맥락이면 압축본, 아니면 원본 그대로
+     */
+    public NlpAnalyzeRequest toWire(NlpAnalyzeRequest req) {
+        String ref = req.getContextRef();
+        if (!enabled || ref == null || !known.contains(ref)) {
+            fullSent.increment();
+            return req;
+        }
+        compactSent.increment();
+        NlpAnalyzeRequest slim = new NlpAnalyzeRequest();
+        slim.setSessionId(req.getSessionId());
+        slim.setContextRef(ref);
+        slim.setLogJson(playerOnly(req.getLogJson()));
+        slim.setFinalAnswer(req.getFinalAnswer());
+        slim.setTimings(req.getTimings());
+        slim.setEngine(req.getEngine());
+        return slim;
+    }
+
+    public boolean isCompact(NlpAnalyzeRequest wire) {
+        return wire.getContextRef() != null && wire.getCaseTitle() == null && wire.getCaseSummary() == null
+                && wire.getFacts() == null && wire.getGoldAnswer() == null;
+    }
+
+    // 전체 요청이 성공 → 서버가 맥락을 등록했음
+    public void markRegistered(NlpAnalyzeRequest sent) {
+        if (!enabled || sent.getContextRef() == null || isCompact(sent)) return;
+        if (known.size() >= KNOWN_MAX) known.clear();
+        known.add(sent.getContextRef());
+    }
+
+    // 서버 캐시 miss (재시작/LRU 축출)
+    public void onMiss(String ref) {
+        misses.increment();
+        if (ref != null) known.remove(ref);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("knownContexts", known.size());
+        m.put("compactSent", compactSent.sum());
+        m.put("fullSent", fullSent.sum());
+        m.put("contextMisses", misses.sum());
+        return m;
+    }
+
+    // ==============================
+    // 내부 유틸
+    // ==============================
+    private Map<String, Object> playerOnly(Map<String, Object> logJson) {
+        List<Map<String, Object>> out = new ArrayList<>();
+        Object logs = (logJson == null) ? null : logJson.get("logs");
+        if (logs instanceof List<?> list) {
+            for (Object o : list) {
+                if (!(o instanceof Map<?, ?> l)) continue;
+                if (!"PLAYER".equalsIgnoreCase(String.valueOf(l.get("speaker")))) continue;
+                Map<String, Object> e = new LinkedHashMap<>();
+                e.put("speaker", "PLAYER");
+                e.put("message", l.get("message"));
+                if (l.get("turn") != null) e.put("turn", l.get("turn"));
+                if (l.get("meta") != null) e.put("meta", l.get("meta"));
+                out.add(e);
+            }
+        }
+        return Map.of("logs", out);
+    }
+}
@@ -0,0 +1,130 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeRequest;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * NLP 분석 마이크로 배처 (엔진 1개당 1개)
+ * - 요청을 모아 maxSize개가 차거나 첫 요청 후 maxWaitMs가 지나면 한 번의 배치 호출로 전송
+ * - 배치 응답을 요청 순서대로 각 호출자의 future에 돌려줌 (항목별 실패는 해당 호출자만 실패)
+ * - maxSize ↑ / maxWaitMs ↑ : 처리량 ↑, 지연 ↑
+ */
+public class NlpRequestBatcher {
+
+    private record Pending(NlpAnalyzeRequest req, CompletableFuture<NlpAnalyzeResponse> future) {}
+
+    private final String engine;
+    private final int maxSize;
+    private final long maxWaitMs;
+    private final Function<List<NlpAnalyzeRequest>, List<NlpAnalyzeResponse>> sender;
+    private final Executor dispatchPool;
+    private final ScheduledExecutorService timer;
+
+    // 아래 두 필드는 this 모니터로 보호
+    private List<Pending> current = new ArrayList<>();
+    private long generation = 0L;   // 배치가 떠날 때마다 증가 → 지난 타이머 무시
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder sizeFlushes = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    public NlpRequestBatcher(String engine, int maxSize, long maxWaitMs,
+                             Function<List<NlpAnalyzeRequest>, List<NlpAnalyzeResponse>> sender,
+                             Executor dispatchPool, ScheduledExecutorService timer) {
+        this.engine = engine;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxWaitMs = Math.max(0L, maxWaitMs);
+        this.sender = sender;
+        this.dispatchPool = dispatchPool;
+        this.timer = timer;
+    }
+
+    public CompletableFuture<NlpAnalyzeResponse> submit(NlpAnalyzeRequest req) {
+        Pending p = new Pending(req, new CompletableFuture<>());
+        List<Pending> ready = null;
+        synchronized (this) {
+            current.add(p);
+            if (current.size() >= maxSize) {
+                ready = detach();
+                sizeFlushes.increment();
+            } else if (current.size() == 1) {
+                long gen = generation;
+                timer.schedule(() -> flushIfSame(gen), maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ready != null) dispatch(ready);
+        return p.future();
+    }
+
+    public Map<String, Object> snapshot() {
+        long b = batches.sum();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("engine", engine);
+        m.put("maxSize", maxSize);
+        m.put("maxWaitMs", maxWaitMs);
+        m.put("batches", b);
+        m.put("items", items.sum());
+        m.put("avgBatchSize", b == 0 ? 0.0 : items.sum() / (double) b);
+        m.put("sizeFlushes", sizeFlushes.sum());
+        m.put("failedBatches", failedBatches.sum());
+        synchronized (this) {
+            m.put("waiting", current.size());
+        }
+        return m;
+    }
+
+    // ==============================
+    // 내부 유틸
+    // ==============================
+    private List<Pending> detach() {
+        List<Pending> out = current;
+        current = new ArrayList<>();
+        generation++;
+        return out;
+    }
+
+    private void flushIfSame(long gen) {
+        List<Pending> ready;
+        synchronized (this) {
+            if (generation != gen || current.isEmpty()) return; // 이미 크기 조건으로 떠난 배치
+            ready = detach();
+        }
+        dispatch(ready);
+    }
+
+    private void dispatch(List<Pending> batch) {
+        batches.increment();
+        items.add(batch.size());
+        dispatchPool.execute(() -> {
+            List<NlpAnalyzeResponse> results;
+            try {
+                results = sender.apply(batch.stream().map(Pending::req).toList());
+            } catch (Exception e) {
+                failedBatches.increment();
+                batch.forEach(p -> p.future().completeExceptionally(e));
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                NlpAnalyzeResponse r = (results != null && i < results.size()) ? results.get(i) : null;
+                if (r != null) {
+                    batch.get(i).future().complete(r);
+                } else {
+                    batch.get(i).future().completeExceptionally(
+                            new IllegalStateException("배치 항목 분석 실패(" + engine + ", #" + i + ")"));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeRequest;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeResponse;
+import com.lingoguma.detective_backend.game.entity.NlpAnalysisMemo;
+import com.lingoguma.detective_backend.game.repository.NlpAnalysisMemoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * NLP 분석 결과 메모이제이션
+ * - 키: 정규화 요청의 SHA-256 (PLAYER 질문, 시나리오 맥락, 최종 답안, 정답 메타, 엔진, 모델 버전)
+ *   sessionId/timings/NPC 답변은 점수에 쓰이지 않으므로 제외 → 재시도/재분석은 같은 키
+ * - 1차: 메모리 LRU (nlp.memo.max-entries), 2차: nlp_analysis_memo 테이블 (nlp.memo.persist)
+ * - NLP 모델을 바꾸면 nlp.memo.model-version을 올려 이전 결과 무효화
+ */
+@Component
+@RequiredArgsConstructor
+public class NlpResultMemo {
+
+    private final NlpAnalysisMemoRepository repo;
+
+    @Value("${nlp.memo.enabled:true}")
+    private boolean enabled;
+    @Value("${nlp.memo.max-entries:1000}")
+    private int maxEntries;
+    @Value("${nlp.memo.persist:true}")
+    private boolean persist;
+    @Value("${nlp.memo.model-version:1}")
+    private String modelVersion;
+
+    private final ObjectMapper canonical = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    // 접근 순서 LinkedHashMap = LRU (this 모니터로 보호)
+    private final LinkedHashMap<String, NlpAnalyzeResponse> lru = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NlpAnalyzeResponse> eldest) {
+            return size() > Math.max(1, maxEntries);
+        }
+    };
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder tableHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String key(NlpAnalyzeRequest req, String engine) {
+        Map<String, Object> norm = new LinkedHashMap<>();
+        norm.put("v", modelVersion);
+        norm.put("engine", engine);
+        norm.put("questions", SkillScorer.extractUserQuestions(req.getLogJson()));
+        norm.put("caseTitle", req.getCaseTitle());
+        norm.put("caseSummary", req.getCaseSummary());
+        norm.put("facts", req.getFacts());
+        norm.put("finalAnswer", req.getFinalAnswer());
+        norm.put("goldAnswer", req.getGoldAnswer());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.writeValueAsString(norm).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            return null; // 해시 실패 → 메모 사용 안 함
+        }
+    }
+
+    public NlpAnalyzeResponse get(String key) {
+        if (!enabled || key == null) return null;
+        NlpAnalyzeResponse hit;
+        synchronized (this) {
+            hit = lru.get(key);
+        }
+        if (hit != null) {
+            memoryHits.increment();
+            return copy(hit);
+        }
+        if (persist) {
+            try {
+                NlpAnalysisMemo row = repo.findById(key).orElse(null);
+                if (row != null) {
+                    NlpAnalyzeResponse r = canonical.readValue(row.getResponseJson(), NlpAnalyzeResponse.class);
+                    synchronized (this) {
+                        lru.put(key, r);
+                    }
+                    tableHits.increment();
+                    return copy(r);
+                }
+            } catch (Exception e) {
+                System.err.println("NLP 메모 조회 실패: " + e.getMessage());
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String key, NlpAnalyzeResponse resp) {
+        if (!enabled || key == null || resp == null || resp.getSkills() == null) return;
+        NlpAnalyzeResponse stored = copy(resp);
+        synchronized (this) {
+            lru.put(key, stored);
+        }
+        if (persist) {
+            try {
+                repo.save(NlpAnalysisMemo.builder()
+                        .requestHash(key)
+                        .engine(String.valueOf(resp.getEngine()))
+                        .responseJson(canonical.writeValueAsString(stored))
+                        .build());
+            } catch (Exception e) {
+                System.err.println("NLP 메모 저장 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("persist", persist);
+        m.put("modelVersion", modelVersion);
+        synchronized (this) {
+            m.put("entries", lru.size());
+        }
+        m.put("maxEntries", maxEntries);
+        m.put("memoryHits", memoryHits.sum());
+        m.put("tableHits", tableHits.sum());
+        m.put("misses", misses.sum());
+        return m;
+    }
+
+    // 분석 결과만 보관 (호출별 기록인 지연시간/헤지 여부는 제외)
+    private NlpAnalyzeResponse copy(NlpAnalyzeResponse r) {
+        NlpAnalyzeResponse c = new NlpAnalyzeResponse();
+        c.setSkills(r.getSkills() == null ? null : new LinkedHashMap<>(r.getSkills()));
+        c.setSubmetrics(r.getSubmetrics() == null ? null : new LinkedHashMap<>(r.getSubmetrics()));
+        c.setEngine(r.getEngine());
+        return c;
+    }
+}
@@ -0,0 +1,254 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.entity.GameResult;
+import com.lingoguma.detective_backend.game.entity.SkillPercentileSnapshot;
+import com.lingoguma.detective_backend.game.repository.GameResultRepository;
+import com.lingoguma.detective_backend.game.repository.SkillPercentileSnapshotRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시나리오별 스킬 백분위 ("이 사건 논리력 상위 12%")
+ * - 점수가 0~100 정수(합계 0~500)라 근사 스케치(t-digest/KLL) 대신 점수별 개수 히스토그램 사용
+ *   → 오차 없음, 병합은 배열 합, 값 교체(재채점)도 -1/+1 로 반영 가능
+ * - GameResultService.applySkillColumns 에서 값이 바뀔 때마다 갱신 (트랜잭션 중이면 커밋 후 반영 → 롤백된 값 미포함)
+ * - 주기적으로 바뀐 시나리오만 skill_percentile_snapshots 에 저장
+ * - 시작 시 시나리오별로 판단: 스냅샷 watermark 이후 그 시나리오 결과가 수정되지 않았으면 스냅샷 사용,
+ *   수정됐거나 스냅샷이 없는 시나리오만 DB GROUP BY로 재구성
+ */
+@Service
+@RequiredArgsConstructor
+public class SkillPercentileService {
+
+    // 정규화 컬럼 순서와 같음 (GameResult.logic ... totalScore)
+    public static final String[] METRICS = {"logic", "creativity", "focus", "diversity", "depth", "total"};
+    private static final String[] COLUMNS = {"logic", "creativity", "focus", "diversity", "depth", "totalScore"};
+    private static final int SKILL_MAX = 100;
+    private static final int TOTAL_MAX = 500;
+    private static final long WATERMARK_MARGIN_MIN = 5; // 스냅샷 직전 커밋 누락 방지 여유
+
+    private final GameResultRepository resultRepo;
+    private final SkillPercentileSnapshotRepository snapshotRepo;
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+
+    @Value("${skill.percentile.min-samples:5}")
+    private int minSamples;   // 표본이 이보다 적으면 백분위 미제공
+
+    private volatile Map<Integer, Histogram> byScenario = new ConcurrentHashMap<>();
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+    // ==============================
+    // 점수별 개수 히스토그램 (this 모니터로 보호)
+    // ==============================
+    static final class Histogram {
+        final long[][] counts = new long[METRICS.length][];
+        long n;
+
+        Histogram() {
+            for (int m = 0; m < METRICS.length; m++) {
+                counts[m] = new long[(m == METRICS.length - 1 ? TOTAL_MAX : SKILL_MAX) + 1];
+            }
+        }
+
+        synchronized void add(int[] values, int delta) {
+            for (int m = 0; m < METRICS.length; m++) {
+                int v = Math.max(0, Math.min(counts[m].length - 1, values[m]));
+                counts[m][v] = Math.max(0, counts[m][v] + delta);
+            }
+            n = Math.max(0, n + delta);
+        }
+
+        // 중간 순위 백분위 (0~100): 나보다 낮은 수 + 같은 점수의 절반
+        synchronized double percentile(int metric, int value) {
+            long[] c = counts[metric];
+            int v = Math.max(0, Math.min(c.length - 1, value));
+            long below = 0;
+            for (int i = 0; i < v; i++) below += c[i];
+            return n == 0 ? 0.0 : 100.0 * (below + 0.5 * c[v]) / n;
+        }
+
+        synchronized Map<String, Object> toJson() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            for (int i = 0; i < METRICS.length; i++) m.put(METRICS[i], counts[i].clone());
+            return m;
+        }
+    }
+
+    // ==============================
+    // 갱신: old/new = {logic, creativity, focus, diversity, depth, total}, 없으면 null
+    // ==============================
+    public void onChange(Integer scenIdx, int[] oldValues, int[] newValues) {
+        if (scenIdx == null || (oldValues == null && newValues == null)) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(scenIdx, oldValues, newValues);
+                }
+            });
+        } else {
+            apply(scenIdx, oldValues, newValues);
+        }
+    }
+
+    private void apply(Integer scenIdx, int[] oldValues, int[] newValues) {
+        Histogram h = byScenario.computeIfAbsent(scenIdx, k -> new Histogram());
+        if (oldValues != null) h.add(oldValues, -1);
+        if (newValues != null) h.add(newValues, +1);
+        dirty.add(scenIdx);
+    }
+
+    /**
+     * 결과 한 건의 시나리오 내 백분위. 표본 부족/점수 없음이면 빈 Map
+     * - {metric: {percentile, topPercent}}
+     */
+    public Map<String, Map<String, Double>> percentilesOf(GameResult gr) {
+        Map<String, Map<String, Double>> out = new LinkedHashMap<>();
+        if (gr == null || gr.getScenIdx() == null || gr.getTotalScore() == null) return out;
+        Histogram h = byScenario.get(gr.getScenIdx());
+        if (h == null || h.n < minSamples) return out;
+        int[] values = valuesOf(gr);
+        for (int m = 0; m < METRICS.length; m++) {
+            double p = h.percentile(m, values[m]);
+            out.put(METRICS[m], Map.of(
+                    "percentile", Math.round(p * 10) / 10.0,
+                    "topPercent", Math.round((100.0 - p) * 10) / 10.0
+            ));
+        }
+        return out;
+    }
+
+    public static int[] valuesOf(GameResult gr) {
+        if (gr.getTotalScore() == null) return null;
+        return new int[]{
+                nz(gr.getLogic()), nz(gr.getCreativity()), nz(gr.getFocus()),
+                nz(gr.getDiversity()), nz(gr.getDepth()), nz(gr.getTotalScore())
+        };
+    }
+
+    // ==============================
+    // 시작 시 적재 (GameResultService 백필 스레드가 백필 후 호출)
+    // ==============================
+    public void load() {
+        Map<Integer, SkillPercentileSnapshot> snaps = new HashMap<>();
+        for (SkillPercentileSnapshot s : snapshotRepo.findAll()) snaps.put(s.getScenIdx(), s);
+
+        // 시나리오별 마지막 결과 수정 시각과 스냅샷 watermark 비교 (idx_gr_scen_updated)
+        Map<Integer, Histogram> loaded = new ConcurrentHashMap<>();
+        List<Integer> stale = new ArrayList<>();
+        for (Object[] row : resultRepo.lastUpdatedByScenario()) {
+            Integer scenIdx = (Integer) row[0];
+            LocalDateTime lastUpdated = (LocalDateTime) row[1];
+            SkillPercentileSnapshot s = snaps.get(scenIdx);
+            if (s != null && s.getWatermark() != null
+                    && (lastUpdated == null || !lastUpdated.isAfter(s.getWatermark()))) {
+                loaded.put(scenIdx, fromSnapshot(s));
+            } else {
+                stale.add(scenIdx);
+            }
+        }
+        if (!stale.isEmpty()) {
+            rebuildFromDb(loaded, stale);
+            dirty.addAll(stale); // 다음 주기에 새 스냅샷
+        }
+        byScenario = loaded;
+    }
+
+    // ==============================
+    // 주기 스냅샷 (바뀐 시나리오만)
+    // ==============================
+    @Scheduled(fixedDelayString = "${skill.percentile.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (dirty.isEmpty()) return;
+        LocalDateTime watermark = LocalDateTime.now().minusMinutes(WATERMARK_MARGIN_MIN);
+        List<Integer> ids = new ArrayList<>(dirty);
+        List<SkillPercentileSnapshot> rows = new ArrayList<>();
+        for (Integer scenIdx : ids) {
+            dirty.remove(scenIdx);
+            Histogram h = byScenario.get(scenIdx);
+            if (h == null) continue;
+            try {
+                long n;
+                synchronized (h) {
+                    n = h.n;
+                }
+                rows.add(SkillPercentileSnapshot.builder()
+                        .scenIdx(scenIdx)
+                        .countsJson(mapper.writeValueAsString(h.toJson()))
+                        .sampleCount(n)
+                        .watermark(watermark)
+                        .build());
+            } catch (Exception e) {
+                dirty.add(scenIdx);
+            }
+        }
+        try {
+            snapshotRepo.saveAll(rows);
+        } catch (Exception e) {
+            System.err.println("스킬 백분위 스냅샷 실패: " + e.getMessage());
+            rows.forEach(r -> dirty.add(r.getScenIdx()));
+        }
+    }
+
+    // ==============================
+    // 내부 유틸
+    // ==============================
+    private void rebuildFromDb(Map<Integer, Histogram> target, List<Integer> scenIds) {
+        // 컬럼별 (시나리오, 점수) 개수 → 인덱스만 읽는 GROUP BY (대상 시나리오만)
+        for (int m = 0; m < COLUMNS.length; m++) {
+            String col = COLUMNS[m];
+            List<Object[]> rows = em.createQuery(
+                    "select r.scenIdx, r." + col + ", count(r) from GameResult r"
+                            + " where r.totalScore is not null and r.scenIdx in :ids"
+                            + " group by r.scenIdx, r." + col, Object[].class)
+                    .setParameter("ids", scenIds)
+                    .getResultList();
+            for (Object[] row : rows) {
+                Integer scenIdx = (Integer) row[0];
+                int v = nz((Integer) row[1]);
+                long c = ((Number) row[2]).longValue();
+                Histogram h = target.computeIfAbsent(scenIdx, k -> new Histogram());
+                synchronized (h) {
+                    h.counts[m][Math.max(0, Math.min(h.counts[m].length - 1, v))] += c;
+                    if (m == COLUMNS.length - 1) h.n += c;
+                }
+            }
+        }
+    }
+
+    private Histogram fromSnapshot(SkillPercentileSnapshot s) {
+        Histogram h = new Histogram();
+        try {
+            Map<String, long[]> m = mapper.readValue(s.getCountsJson(), new TypeReference<Map<String, long[]>>() {});
+            for (int i = 0; i < METRICS.length; i++) {
+                long[] src = m.get(METRICS[i]);
+                if (src != null) System.arraycopy(src, 0, h.counts[i], 0, Math.min(src.length, h.counts[i].length));
+            }
+            h.n = s.getSampleCount();
+        } catch (Exception e) {
+            System.err.println("스냅샷 파싱 실패(scenIdx=" + s.getScenIdx() + "): " + e.getMessage());
+        }
+        return h;
+    }
+
+    private static int nz(Integer v) {
+        return v == null ? 0 : v;
+    }
+}
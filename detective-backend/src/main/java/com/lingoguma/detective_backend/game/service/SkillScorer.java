@@ -0,0 +1,357 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeRequest;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeResponse;
+import com.lingoguma.detective_backend.game.dto.SessionMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 프로세스 내 스킬 채점기 (engine = "java")
+ * - detective-nlp app/main.py 의 score_dummy 휴리스틱을 그대로 옮긴 것 → NLP 서버 없이 즉시 채점
+ *   (토큰 자카드 집중도, 질문 쌍 다양성, 길이 기반 깊이, 무의미/장난 입력 패널티, 참여 계수, 정답 보너스)
+ * - 반올림은 파이썬 round(은행원 반올림)와 같게 Math.rint 사용
+ * - 평균은 numpy 쌍별(pairwise) 합산 순서를 따라 경계값에서도 같은 정수가 나오도록 함
+ * - 요청에 세션 누적 지표(SessionMetrics)가 있고 로그와 질문 수가 맞으면
+ *   질문 수/무의미 판정/길이/패널티는 누적값을 그대로 사용 (정수 합 ÷ 개수 = np.mean 과 같은 값)
+ *   집중도/다양성만 의미 있는 질문의 토큰 집합으로 계산
+ * - 파이썬 쪽을 바꾸면 실제 numpy 환경에서 record_dummy_fixtures.py 로
+ *   src/test/resources/nlp/dummy_parity.json 을 기록하고 SkillScorerParityTest 확인 (파일이 없으면 테스트 실패)
+ */
+@Component
+public class SkillScorer {
+
+    public static final String ENGINE = "java";
+
+    private static final Pattern TOKEN = Pattern.compile("[가-힣a-zA-Z0-9]+");
+    private static final Pattern JAMO_ONLY = Pattern.compile("[ㄱ-ㅎㅏ-ㅣ]+");
+    private static final Pattern REPEAT = Pattern.compile("(.)\\1{2,}");
+    private static final List<Pattern> TRIVIAL = List.of(
+            "^[ㅇ]+$", "^[ㄴ]+$", "^[ㅋ]+$", "^[ㅎ]+$", "^\\?+$", "^[\\.\\,\\!\\s]+$",
+            "^ㅁㄴㅇㄹ$", "^ㄹㅇ$", "^ㅇㅇ$", "^ㄴㄴ$", "^ㅋㅋ+$", "^ㅎㅎ+$"
+    ).stream().map(p -> Pattern.compile(p, Pattern.UNICODE_CHARACTER_CLASS)).toList();
+
+    public NlpAnalyzeResponse score(NlpAnalyzeRequest req) {
+        List<String> userQs = extractUserQuestions(req.getLogJson());
+        Set<String> baseTokens = new HashSet<>(tokenize(
+                String.join(" ", req.getFacts() == null ? List.of() : req.getFacts())
+                        + " " + (req.getCaseSummary() == null ? "" : req.getCaseSummary())));
+
+        int nUser = userQs.size();
+        SessionMetrics metrics = req.getSessionMetrics();
+        if (metrics != null && !matchesLog(metrics, nUser)) metrics = null; // 어긋나면 로그에서 재계산
+
+        double avgLen;
+        List<String> meaningful = new ArrayList<>();
+        int nTrivial;
+        int penaltySum;
+        if (metrics != null) {
+            Set<Integer> trivialIdx = new HashSet<>(metrics.getTrivialIndexes());
+            for (int i = 0; i < nUser; i++) {
+                if (!trivialIdx.contains(i)) meaningful.add(userQs.get(i));
+            }
+            avgLen = metrics.getAvgLength();
+            nTrivial = metrics.getTrivialCount();
+            penaltySum = metrics.getPenaltySum();
+        } else {
+            avgLen = nUser > 0 ? mean(userQs.stream().mapToDouble(SkillScorer::len).toArray()) : 0.0;
+            nTrivial = 0;
+            penaltySum = 0;
+            for (String q : userQs) {
+                if (isTrivial(q)) nTrivial++;
+                else meaningful.add(q);
+                penaltySum += nonsensePenalty(q);
+            }
+        }
+        int nMeaningful = meaningful.size();
+        double trivialRatio = nUser > 0 ? nTrivial / (double) nUser : 1.0;
+
+        // 간단 휴리스틱(자카드/길이 기반)
+        double focusRaw, logicRaw, depthRaw, diversityRaw, novelty;
+        if (!meaningful.isEmpty() && !baseTokens.isEmpty()) {
+            List<Set<String>> toks = new ArrayList<>();
+            for (String q : meaningful) toks.add(new HashSet<>(tokenize(q)));
+            double[] sims = new double[toks.size()];
+            for (int i = 0; i < toks.size(); i++) sims[i] = jaccard(toks.get(i), baseTokens);
+            focusRaw = mean(sims);
+            logicRaw = focusRaw;
+            double meaningfulAvgLen = metrics != null
+                    ? metrics.getMeaningfulAvgLength()
+                    : mean(meaningful.stream().mapToDouble(SkillScorer::len).toArray());
+            depthRaw = Math.tanh(meaningfulAvgLen / 40.0);
+            if (meaningful.size() >= 2) {
+                double[] pairs = new double[toks.size() * (toks.size() - 1) / 2];
+                int k = 0;
+                for (int i = 0; i < toks.size(); i++) {
+                    for (int j = i + 1; j < toks.size(); j++) {
+                        pairs[k++] = jaccard(toks.get(i), toks.get(j));
+                    }
+                }
+                diversityRaw = 1.0 - mean(pairs);
+            } else {
+                diversityRaw = nMeaningful == 0 ? 0.2 : 0.5;
+            }
+            novelty = 1.0 - focusRaw;
+        } else {
+            focusRaw = logicRaw = depthRaw = diversityRaw = nMeaningful == 0 ? 0.2 : 0.5;
+            novelty = nMeaningful == 0 ? 0.6 : 0.5;
+        }
+
+        // 정답 비교(간이판정: 임베딩 없이 토큰 유사도)
+        Map<String, Object> fa = req.getFinalAnswer() == null ? Map.of() : req.getFinalAnswer();
+        Map<String, Object> ga = req.getGoldAnswer() == null ? Map.of() : req.getGoldAnswer();
+
+        String chosen = safeLower(fa.get("culprit"));
+        String goldId = safeLower(ga.get("culpritId"));
+        String goldName = safeLower(ga.get("culpritName"));
+        double culpritExact = (!chosen.isEmpty() && (chosen.equals(goldId) || chosen.equals(goldName))) ? 1.0 : 0.0;
+
+        double methodSim = jaccard(new HashSet<>(tokenize(safeStr(fa.get("how")))),
+                new HashSet<>(tokenize(safeStr(ga.get("method")))));
+        double motiveSim = jaccard(new HashSet<>(tokenize(safeStr(fa.get("why")))),
+                new HashSet<>(tokenize(safeStr(ga.get("motive")))));
+
+        double[] prf = prf(asList(fa.get("evidence_selected")), asList(ga.get("keyEvidenceIds")));
+        double p = prf[0], r = prf[1], f1 = prf[2];
+
+        double answerQuality = 0.4 * culpritExact + 0.2 * methodSim + 0.2 * motiveSim + 0.2 * f1;
+
+        // 기본 스케일
+        int focus = scale0to100(focusRaw, 0.2, 0.85);
+        int logic = scale0to100(logicRaw, 0.15, 0.85);
+        int depth = scale0to100(depthRaw, 0.2, 0.9);
+        int diversity = scale0to100(diversityRaw, 0.1, 0.85);
+        int creativity = scale0to100(0.6 * 0.5 + 0.4 * novelty, 0.1, 0.85);
+
+        double engagement = engagementFactor(nUser, nMeaningful, avgLen);
+
+        int bonusLogic = (int) Math.rint(20.0 * answerQuality * engagement);
+        int bonusDepth = (int) Math.rint(10.0 * answerQuality * engagement);
+
+        logic = normalize(logic + bonusLogic, penaltySum, engagement);
+        focus = normalize(focus, penaltySum, engagement);
+        creativity = normalize(creativity, penaltySum, engagement);
+        depth = clamp((int) Math.rint((depth + bonusDepth) * engagement));
+        diversity = clamp((int) Math.rint(diversity * engagement));
+
+        if (nMeaningful == 0) {
+            logic = Math.min(logic, 5);
+            focus = Math.min(focus, 5);
+            creativity = Math.min(creativity, 10);
+            depth = Math.min(depth, 10);
+            diversity = Math.min(diversity, 15);
+        }
+
+        Map<String, Integer> skills = new LinkedHashMap<>();
+        skills.put("logic", logic);
+        skills.put("focus", focus);
+        skills.put("creativity", creativity);
+        skills.put("diversity", diversity);
+        skills.put("depth", depth);
+
+        Map<String, Double> sub = new LinkedHashMap<>();
+        sub.put("n_user_turns", (double) nUser);
+        sub.put("n_meaningful", (double) nMeaningful);
+        sub.put("n_trivial", (double) nTrivial);
+        sub.put("trivial_ratio", trivialRatio);
+        sub.put("avg_len", avgLen);
+        sub.put("penalty_sum", (double) penaltySum);
+        sub.put("engagement_factor", engagement);
+        sub.put("culprit_exact", culpritExact);
+        sub.put("method_sim", methodSim);
+        sub.put("motive_sim", motiveSim);
+        sub.put("evidence_precision", p);
+        sub.put("evidence_recall", r);
+        sub.put("evidence_f1", f1);
+        sub.put("answer_quality", answerQuality);
+
+        NlpAnalyzeResponse resp = new NlpAnalyzeResponse();
+        resp.setEngine(ENGINE);
+        resp.setSkills(skills);
+        resp.setSubmetrics(sub);
+        return resp;
+    }
+
+    // ==============================
+    // main.py 유틸 대응
+    // ==============================
+    // 참여 계수: 질문 수/의미 있는 질문 수/평균 길이만으로 결정 (세션 누적 지표로도 O(1) 계산)
+    public static double engagementFactor(int nUser, int nMeaningful, double avgLen) {
+        double engagement;
+        if (nUser == 0) {
+            engagement = 0.05;
+        } else if (nMeaningful == 0) {
+            engagement = 0.1;
+        } else {
+            engagement = Math.min(1.0, (0.3 * (nUser / 10.0) + 0.7 * (nMeaningful / 10.0)));
+        }
+        if (avgLen < 5) {
+            engagement *= 0.6;
+        } else if (avgLen < 8) {
+            engagement *= 0.8;
+        }
+        return engagement;
+    }
+
+    // 누적 지표가 이 로그에서 나온 것인지 (지표 컬럼 도입 전 세션/무의미 순번 없는 값은 false)
+    static boolean matchesLog(SessionMetrics m, int nUser) {
+        return m.getQuestionCount() == nUser
+                && m.getTrivialIndexes() != null
+                && m.getTrivialIndexes().size() == m.getTrivialCount();
+    }
+
+    static List<String> extractUserQuestions(Map<String, Object> logJson) {
+        List<String> qs = new ArrayList<>();
+        Object logs = logJson == null ? null : logJson.get("logs");
+        if (!(logs instanceof Collection<?> list)) return qs;
+        for (Object o : list) {
+            if (!(o instanceof Map<?, ?> l)) continue;
+            String spk = l.get("speaker") == null ? "" : String.valueOf(l.get("speaker")).toUpperCase(Locale.ROOT);
+            String msg = l.get("message") == null ? "" : String.valueOf(l.get("message")).strip();
+            if (spk.equals("PLAYER") && !msg.isEmpty()) qs.add(msg);
+        }
+        return qs;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> out = new ArrayList<>();
+        Matcher m = TOKEN.matcher((text == null ? "" : text).toLowerCase(Locale.ROOT));
+        while (m.find()) out.add(m.group());
+        return out;
+    }
+
+    static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) return 0.0;
+        Set<String> inter = new HashSet<>(a);
+        inter.retainAll(b);
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        return inter.size() / (double) Math.max(1, union.size());
+    }
+
+    static boolean isTrivial(String text) {
+        String t = text == null ? "" : text.strip();
+        if (t.isEmpty()) return true;
+        if (JAMO_ONLY.matcher(t).matches()) return true;
+        if (REPEAT.matcher(t).matches()) return true;
+        for (Pattern p : TRIVIAL) {
+            if (p.matcher(t).matches()) return true;
+        }
+        return tokenize(t).size() < 2;
+    }
+
+    static int nonsensePenalty(String text) {
+        String t = text == null ? "" : text.strip();
+        int score = 0;
+        int n = len(t);
+        if (n < 3) {
+            score -= 60;
+        } else if (n < 5) {
+            score -= 35;
+        }
+        if (JAMO_ONLY.matcher(t).matches()) score -= 50;
+        if (REPEAT.matcher(t).matches()) score -= 30;
+        for (Pattern p : TRIVIAL) {
+            if (p.matcher(t).matches()) {
+                score -= 50;
+                break;
+            }
+        }
+        if (tokenize(t).size() < 2) score -= 25;
+        return score;
+    }
+
+    static int scale0to100(double x, double lo, double hi) {
+        x = (x - lo) / (hi - lo + 1e-9);
+        x = Math.max(0.0, Math.min(1.0, x));
+        return (int) Math.rint(x * 100);
+    }
+
+    static int clamp(int v) {
+        return Math.max(0, Math.min(100, v));
+    }
+
+    static int normalize(int base, int penaltySum, double engagement) {
+        return clamp((int) Math.rint((base + penaltySum) * engagement));
+    }
+
+    static double[] prf(List<String> selected, List<String> gold) {
+        Set<String> sel = new HashSet<>();
+        for (String s : selected) if (!s.isEmpty()) sel.add(s);
+        Set<String> gd = new HashSet<>();
+        for (String s : gold) if (!s.isEmpty()) gd.add(s);
+        Set<String> tp = new HashSet<>(sel);
+        tp.retainAll(gd);
+        double p = tp.size() / (double) Math.max(1, sel.size());
+        double r = tp.size() / (double) Math.max(1, gd.size());
+        double f1 = (p + r == 0) ? 0.0 : 2 * p * r / (p + r);
+        return new double[]{p, r, f1};
+    }
+
+    // safe_str: str(x or "").strip() — 파이썬 falsy(None/False/0/빈 값)는 빈 문자열
+    static String safeStr(Object x) {
+        if (x == null || Boolean.FALSE.equals(x)) return "";
+        if (x instanceof Number n && n.doubleValue() == 0.0) return "";
+        if (x instanceof Collection<?> c && c.isEmpty()) return "";
+        if (x instanceof Map<?, ?> m && m.isEmpty()) return "";
+        if (Boolean.TRUE.equals(x)) return "True";
+        return String.valueOf(x).strip();
+    }
+
+    static String safeLower(Object x) {
+        return safeStr(x).toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> asList(Object o) {
+        List<String> out = new ArrayList<>();
+        if (o == null) return out;
+        if (o instanceof Collection<?> c) {
+            for (Object e : c) out.add(safeStr(e));
+        } else {
+            out.add(safeStr(o));
+        }
+        return out;
+    }
+
+    // 파이썬 len(): 코드 포인트 수
+    static int len(String s) {
+        return s.codePointCount(0, s.length());
+    }
+
+    // np.mean: numpy pairwise_sum 과 같은 합산 순서 (8개 단위 언롤, 128개 초과 시 재귀 분할)
+    static double mean(double[] a) {
+        return pairwiseSum(a, 0, a.length) / a.length;
+    }
+
+    private static double pairwiseSum(double[] a, int from, int n) {
+        if (n < 8) {
+            double res = 0.0;
+            for (int i = 0; i < n; i++) res += a[from + i];
+            return res;
+        } else if (n <= 128) {
+            double[] r = new double[8];
+            for (int k = 0; k < 8; k++) r[k] = a[from + k];
+            int i;
+            for (i = 8; i < n - (n % 8); i += 8) {
+                for (int k = 0; k < 8; k++) r[k] += a[from + i + k];
+            }
+            double res = ((r[0] + r[1]) + (r[2] + r[3])) + ((r[4] + r[5]) + (r[6] + r[7]));
+            for (; i < n; i++) res += a[from + i];
+            return res;
+        } else {
+            int n2 = n / 2;
+            n2 -= n2 % 8;
+            return pairwiseSum(a, from, n2) + pairwiseSum(a, from + n2, n - n2);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.entity.TriggerCounter;
+import com.lingoguma.detective_backend.game.repository.TriggerCounterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시나리오별 트리거 히트맵 (어떤 증거/시간/장소가 실제로 언급되는지)
+ * - ask 경로에서는 detectTriggers 결과를 LongAdder에 더하기만 함 (DB 접근 없음, 경합 시 셀 분산)
+ * - 주기적으로(trigger.heatmap.flush-interval-ms) sumThenReset 한 값만 trigger_counters 에 일괄 합산
+ * - 조회는 trigger_counters + 아직 반영 전인 메모리 값 → 세션 로그는 읽지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class TriggerHeatmap {
+
+    public static final String EVIDENCE = "EVIDENCE";
+    public static final String TIME = "TIME";
+    public static final String LOCATION = "LOCATION";
+    public static final String LEVEL = "LEVEL";
+    private static final int NAME_MAX = 100;
+
+    private final TriggerCounterRepository repo;
+
+    private record Key(Integer scenIdx, String kind, String name) {}
+
+    private final ConcurrentHashMap<Key, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // ==============================
+    // 기록 (detectTriggers 메타 그대로)
+    // ==============================
+    public void record(Integer scenIdx, Map<String, Object> triggerMeta) {
+        if (scenIdx == null || triggerMeta == null) return;
+        add(scenIdx, LEVEL, triggerMeta.getOrDefault("triggerLevel", "L1"));
+        addAll(scenIdx, EVIDENCE, triggerMeta.get("firedEvidenceIds"));
+        addAll(scenIdx, TIME, triggerMeta.get("firedTimes"));
+        addAll(scenIdx, LOCATION, triggerMeta.get("firedLocations"));
+    }
+
+    private void addAll(Integer scenIdx, String kind, Object names) {
+        if (names instanceof List<?> list) {
+            for (Object n : list) add(scenIdx, kind, n);
+        }
+    }
+
+    private void add(Integer scenIdx, String kind, Object name) {
+        if (name == null) return;
+        String s = String.valueOf(name);
+        if (s.isBlank()) return;
+        if (s.length() > NAME_MAX) s = s.substring(0, NAME_MAX);
+        pending.computeIfAbsent(new Key(scenIdx, kind, s), k -> new LongAdder()).increment();
+    }
+
+    // ==============================
+    // 주기적 일괄 반영
+    // ==============================
+    @Scheduled(fixedDelayString = "${trigger.heatmap.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        // 1) 누적분 떼어내기 (키는 남겨 두고 값만 0으로, 동시 증가분은 다음 주기로)
+        Map<Integer, Map<Key, Long>> byScen = new HashMap<>();
+        for (Map.Entry<Key, LongAdder> e : pending.entrySet()) {
+            long v = e.getValue().sumThenReset();
+            if (v == 0) continue;
+            byScen.computeIfAbsent(e.getKey().scenIdx(), k -> new HashMap<>()).put(e.getKey(), v);
+        }
+        if (byScen.isEmpty()) return;
+
+        // 2) 시나리오 묶음의 기존 행 한 번에 조회 → 합산 → saveAll
+        try {
+            Map<Key, TriggerCounter> rows = new HashMap<>();
+            for (TriggerCounter c : repo.findByScenIdxIn(byScen.keySet())) {
+                rows.put(new Key(c.getScenIdx(), c.getKind(), c.getName()), c);
+            }
+            List<TriggerCounter> toSave = new ArrayList<>();
+            for (Map<Key, Long> deltas : byScen.values()) {
+                for (Map.Entry<Key, Long> d : deltas.entrySet()) {
+                    Key k = d.getKey();
+                    TriggerCounter row = rows.get(k);
+                    if (row == null) {
+                        row = TriggerCounter.builder().scenIdx(k.scenIdx()).kind(k.kind()).name(k.name()).build();
+                    }
+                    row.setHits(row.getHits() + d.getValue());
+                    toSave.add(row);
+                }
+            }
+            repo.saveAll(toSave);
+        } catch (Exception ex) {
+            // 실패분은 다음 주기에 다시 시도
+            System.err.println("트리거 히트맵 저장 실패: " + ex.getMessage());
+            for (Map<Key, Long> deltas : byScen.values()) {
+                deltas.forEach((k, v) -> pending.computeIfAbsent(k, x -> new LongAdder()).add(v));
+            }
+        }
+    }
+
+    // 종료 시 남은 누적분 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // ==============================
+    // 조회: kind별 {name → hits} (DB + 반영 전 메모리)
+    //  - content(시나리오 JSON)의 증거/타임라인/장소는 0회도 포함 → 한 번도 안 나온 단서 확인용
+    // ==============================
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> heatmap(Integer scenIdx, Map<String, Object> content) {
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (String kind : List.of(EVIDENCE, TIME, LOCATION, LEVEL)) counts.put(kind, new LinkedHashMap<>());
+
+        // 시나리오에 정의된 항목 0으로 먼저 채움 (정의 순서 유지)
+        Map<String, String> evidenceNames = new LinkedHashMap<>();
+        if (content != null) {
+            for (Map<String, Object> e : (List<Map<String, Object>>) content.getOrDefault("evidence", List.of())) {
+                String id = String.valueOf(e.getOrDefault("id", ""));
+                if (id.isBlank()) continue;
+                counts.get(EVIDENCE).put(id, 0L);
+                evidenceNames.put(id, String.valueOf(e.getOrDefault("name", "")));
+            }
+            for (Map<String, Object> t : (List<Map<String, Object>>) content.getOrDefault("timeline", List.of())) {
+                if (t.get("time") != null) counts.get(TIME).put(String.valueOf(t.get("time")), 0L);
+            }
+            for (Map<String, Object> l : (List<Map<String, Object>>) content.getOrDefault("locations", List.of())) {
+                if (l.get("name") != null) counts.get(LOCATION).put(String.valueOf(l.get("name")), 0L);
+            }
+        }
+        for (String level : List.of("L1", "L2", "L3")) counts.get(LEVEL).put(level, 0L);
+
+        for (TriggerCounter c : repo.findByScenIdx(scenIdx)) {
+            Map<String, Long> m = counts.get(c.getKind());
+            if (m != null) m.merge(c.getName(), c.getHits(), Long::sum);
+        }
+        pending.forEach((k, v) -> {
+            if (!scenIdx.equals(k.scenIdx())) return;
+            long n = v.sum();
+            Map<String, Long> m = counts.get(k.kind());
+            if (n > 0 && m != null) m.merge(k.name(), n, Long::sum);
+        });
+
+        long questions = counts.get(LEVEL).values().stream().mapToLong(Long::longValue).sum();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("scenIdx", scenIdx);
+        body.put("questions", questions);
+        body.put("evidence", cells(counts.get(EVIDENCE), questions, evidenceNames));
+        body.put("times", cells(counts.get(TIME), questions, Map.of()));
+        body.put("locations", cells(counts.get(LOCATION), questions, Map.of()));
+        body.put("levels", counts.get(LEVEL));
+        return body;
+    }
+
+    private static List<Map<String, Object>> cells(Map<String, Long> counts, long questions, Map<String, String> labels) {
+        List<Map<String, Object>> out = new ArrayList<>(counts.size());
+        counts.forEach((name, hits) -> {
+            Map<String, Object> cell = new LinkedHashMap<>();
+            cell.put("key", name);
+            if (labels.containsKey(name)) cell.put("name", labels.get(name));
+            cell.put("hits", hits);
+            cell.put("perQuestion", questions == 0 ? 0.0 : Math.round(1000.0 * hits / questions) / 1000.0);
+            out.add(cell);
+        });
+        return out;
+    }
+}
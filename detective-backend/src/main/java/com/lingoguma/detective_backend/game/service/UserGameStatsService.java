@@ -0,0 +1,218 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.entity.GameResult;
+import com.lingoguma.detective_backend.game.entity.UserGameStats;
+import com.lingoguma.detective_backend.game.repository.UserGameStatsRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 유저별 누적 게임 통계 (user_game_stats)
+ * - 결과 저장/분석 완료 시 증분 갱신 (GameResultService 트랜잭션 안에서 호출, 이미 있는 행만 잠금 후 갱신)
+ * - 최고점이 내려갈 수 있는 변경(재채점 등)이나 통계 행이 없는 유저는 game_results 집계로 재구성
+ *   재구성은 결과 트랜잭션 커밋 후 별도 트랜잭션에서 → 통계 실패가 결과 저장을 되돌리지 않음
+ * - 행 생성은 INSERT 후 PK 중복이면(동시 생성) 행 잠금 후 재구성으로 전환
+ * - 마이페이지 요약은 이 행 하나만 읽음 → 전체 기록/JSON 파싱 불필요
+ */
+@Service
+public class UserGameStatsService {
+
+    private static final String[] SKILLS = {"logic", "creativity", "focus", "diversity", "depth"};
+
+    private final UserGameStatsRepository statsRepo;
+    private final EntityManager em;
+    private final TransactionTemplate rebuildTx;
+
+    public UserGameStatsService(UserGameStatsRepository statsRepo,
+                                EntityManager em,
+                                PlatformTransactionManager txManager) {
+        this.statsRepo = statsRepo;
+        this.em = em;
+        this.rebuildTx = new TransactionTemplate(txManager);
+        this.rebuildTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ==============================
+    // 새 결과 저장 (판 수/정답 수/마지막 플레이 + 점수가 있으면 합계/최고점)
+    // ==============================
+    @Transactional
+    public void onResultSaved(GameResult gr) {
+        if (gr.getUserIdx() == null) return; // 게스트 플레이 제외
+        UserGameStats s = statsRepo.findForUpdate(gr.getUserIdx()).orElse(null);
+        if (s == null) {
+            rebuild(gr.getUserIdx()); // 커밋 후 저장된 행까지 포함해 집계
+            return;
+        }
+        s.setGamesPlayed(s.getGamesPlayed() + 1);
+        if (gr.isCorrect()) s.setSolvedCount(s.getSolvedCount() + 1);
+        s.setLastPlayedAt(gr.getCreatedAt() != null ? gr.getCreatedAt() : LocalDateTime.now());
+        addScores(s, SkillPercentileService.valuesOf(gr));
+        statsRepo.save(s);
+    }
+
+    // ==============================
+    // 점수 변경 (before/after = SkillPercentileService.valuesOf 형식, 없으면 null)
+    //  - 분석 완료(없음 → 점수)는 증분, 기존 점수 교체/삭제는 최고점 때문에 재구성
+    // ==============================
+    @Transactional
+    public void onScoresChanged(Integer userIdx, int[] before, int[] after) {
+        if (userIdx == null || (before == null && after == null)) return;
+        UserGameStats s = statsRepo.findForUpdate(userIdx).orElse(null);
+        if (s == null || before != null) {
+            rebuild(userIdx);
+            return;
+        }
+        addScores(s, after);
+        statsRepo.save(s);
+    }
+
+    // ==============================
+    // 요약 조회 (없으면 즉시 재구성)
+    //  - 트랜잭션 밖에서 읽어야 별도 트랜잭션이 만든 행이 보임
+    // ==============================
+    public Map<String, Object> summary(Integer userIdx) {
+        UserGameStats s = statsRepo.findById(userIdx).orElseGet(() -> materialize(userIdx));
+
+        Map<String, Object> averages = new LinkedHashMap<>();
+        Map<String, Object> bests = new LinkedHashMap<>();
+        long[] sums = {s.getSumLogic(), s.getSumCreativity(), s.getSumFocus(), s.getSumDiversity(), s.getSumDepth()};
+        int[] best = {s.getBestLogic(), s.getBestCreativity(), s.getBestFocus(), s.getBestDiversity(), s.getBestDepth()};
+        for (int i = 0; i < SKILLS.length; i++) {
+            averages.put(SKILLS[i], avg(sums[i], s.getScoredCount()));
+            bests.put(SKILLS[i], best[i]);
+        }
+        averages.put("total", avg(s.getSumTotal(), s.getScoredCount()));
+        bests.put("total", s.getBestTotal());
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("userIdx", userIdx);
+        out.put("gamesPlayed", s.getGamesPlayed());
+        out.put("solvedCount", s.getSolvedCount());
+        out.put("solveRate", s.getGamesPlayed() == 0 ? 0.0
+                : Math.round(1000.0 * s.getSolvedCount() / s.getGamesPlayed()) / 10.0);
+        out.put("scoredCount", s.getScoredCount());
+        out.put("averages", averages);
+        out.put("bests", bests);
+        out.put("lastPlayedAt", s.getLastPlayedAt());
+        return out;
+    }
+
+    // ==============================
+    // game_results 집계로 재구성 (트랜잭션 중이면 커밋 후, 실패는 로그만)
+    // ==============================
+    public void rebuild(Integer userIdx) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuildQuietly(userIdx);
+                }
+            });
+        } else {
+            rebuildQuietly(userIdx);
+        }
+    }
+
+    private void rebuildQuietly(Integer userIdx) {
+        try {
+            materialize(userIdx);
+        } catch (Exception e) {
+            System.err.println("유저 통계 재구성 실패(userIdx=" + userIdx + "): " + e.getMessage());
+        }
+    }
+
+    // 없으면 INSERT, PK 중복(다른 요청이 먼저 생성)이면 잠금 후 덮어쓰기
+    //  - 잠금 후 집계하므로 먼저 잠근 쪽이 커밋한 결과까지 포함 (증분 갱신과 이중 계산 없음)
+    private UserGameStats materialize(Integer userIdx) {
+        try {
+            return rebuildTx.execute(status -> {
+                UserGameStats s = UserGameStats.builder().userIdx(userIdx).build();
+                aggregate(s);
+                return statsRepo.saveAndFlush(s);
+            });
+        } catch (DataIntegrityViolationException e) {
+            return rebuildTx.execute(status -> {
+                UserGameStats s = statsRepo.findForUpdate(userIdx)
+                        .orElseThrow(() -> new RuntimeException("유저 통계 없음: " + userIdx));
+                aggregate(s);
+                return statsRepo.save(s);
+            });
+        }
+    }
+
+    // userIdx 인덱스 범위만 읽음
+    private void aggregate(UserGameStats s) {
+        Integer userIdx = s.getUserIdx();
+        Object[] base = em.createQuery(
+                "select count(r), sum(case when r.isCorrect = true then 1 else 0 end), max(r.createdAt)"
+                        + " from GameResult r where r.userIdx = :u", Object[].class)
+                .setParameter("u", userIdx).getSingleResult();
+        Object[] sc = em.createQuery(
+                "select count(r), sum(r.logic), sum(r.creativity), sum(r.focus), sum(r.diversity), sum(r.depth), sum(r.totalScore),"
+                        + " max(r.logic), max(r.creativity), max(r.focus), max(r.diversity), max(r.depth), max(r.totalScore)"
+                        + " from GameResult r where r.userIdx = :u and r.totalScore is not null", Object[].class)
+                .setParameter("u", userIdx).getSingleResult();
+
+        s.setGamesPlayed(num(base[0]));
+        s.setSolvedCount(num(base[1]));
+        s.setLastPlayedAt((LocalDateTime) base[2]);
+        s.setScoredCount(num(sc[0]));
+        s.setSumLogic(num(sc[1]));
+        s.setSumCreativity(num(sc[2]));
+        s.setSumFocus(num(sc[3]));
+        s.setSumDiversity(num(sc[4]));
+        s.setSumDepth(num(sc[5]));
+        s.setSumTotal(num(sc[6]));
+        s.setBestLogic((int) num(sc[7]));
+        s.setBestCreativity((int) num(sc[8]));
+        s.setBestFocus((int) num(sc[9]));
+        s.setBestDiversity((int) num(sc[10]));
+        s.setBestDepth((int) num(sc[11]));
+        s.setBestTotal((int) num(sc[12]));
+    }
+
+    // 정규화 컬럼 백필 이후: 이전 집계는 버리고 조회 시 재구성
+    @Transactional
+    public void invalidateAll() {
+        statsRepo.deleteAllInBatch();
+    }
+
+    // ==============================
+    // 내부 유틸
+    // ==============================
+    private void addScores(UserGameStats s, int[] v) {
+        if (v == null) return;
+        s.setScoredCount(s.getScoredCount() + 1);
+        s.setSumLogic(s.getSumLogic() + v[0]);
+        s.setSumCreativity(s.getSumCreativity() + v[1]);
+        s.setSumFocus(s.getSumFocus() + v[2]);
+        s.setSumDiversity(s.getSumDiversity() + v[3]);
+        s.setSumDepth(s.getSumDepth() + v[4]);
+        s.setSumTotal(s.getSumTotal() + v[5]);
+        s.setBestLogic(Math.max(s.getBestLogic(), v[0]));
+        s.setBestCreativity(Math.max(s.getBestCreativity(), v[1]));
+        s.setBestFocus(Math.max(s.getBestFocus(), v[2]));
+        s.setBestDiversity(Math.max(s.getBestDiversity(), v[3]));
+        s.setBestDepth(Math.max(s.getBestDepth(), v[4]));
+        s.setBestTotal(Math.max(s.getBestTotal(), v[5]));
+    }
+
+    private static double avg(long sum, long n) {
+        return n == 0 ? 0.0 : Math.round(10.0 * sum / n) / 10.0;
+    }
+
+    private static long num(Object o) {
+        return o instanceof Number n ? n.longValue() : 0L;
+    }
+}
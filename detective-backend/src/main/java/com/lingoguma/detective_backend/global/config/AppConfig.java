@@ -1,7 +1,11 @@
 package com.lingoguma.detective_backend.global.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.session.web.http.DefaultCookieSerializer;
@@ -11,8 +15,11 @@ import org.springframework.web.client.RestTemplate;
  * 공용 Bean 등록용 설정 파일
  *  - RestTemplate: 다른 서버(FastAPI 등)와 HTTP 통신할 때 사용
  *  - DefaultCookieSerializer: 세션 쿠키 SameSite/보안 설정
+ *  - nlpAnalysisExecutor: 사건 종료 후 NLP 분석을 요청 스레드 밖에서 처리하는 워커 풀
+ *  - @EnableScheduling: 메모리 누적분 주기적 DB 반영(@Scheduled) 활성화
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
@@ -21,12 +28,37 @@ public class AppConfig {
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        // 간단한 테스트용 RestTemplate
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            @Value("${http.client.connect-timeout-ms:3000}") int connectTimeoutMs,
+            @Value("${http.client.read-timeout-ms:60000}") int readTimeoutMs
+    ) {
+        // 타임아웃 없는 호출이 헤지/워커 스레드를 무한정 붙잡지 않도록 상한 지정
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectTimeoutMs);
+        factory.setReadTimeout(readTimeoutMs);
+        return new RestTemplate(factory);
     }
     
 
+    @Bean(name = "nlpAnalysisExecutor")
+    public ThreadPoolTaskExecutor nlpAnalysisExecutor(
+            @Value("${nlp.worker.threads:4}") int threads,
+            @Value("${nlp.worker.queue-capacity:200}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("nlp-analysis-");
+        // 큐가 가득 차면 거절 (요청 스레드에서 채점하지 않음) → 결과는 PENDING으로 남고
+        // GameAnalysisService.requeuePending이 주기적으로 다시 등록
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
     @Bean
     public DefaultCookieSerializer cookieSerializer() {
         DefaultCookieSerializer serializer = new DefaultCookieSerializer();
@@ -0,0 +1,65 @@
+package com.lingoguma.detective_backend.global.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * 이미 JSON인 문자열을 그대로 응답에 싣는 값 (DB JSON 컬럼 → HTTP 응답)
+ * - 직렬화 시 writeRawValue 로 원문 복사 → Map/JsonNode 트리 생성 없음
+ * - 문자열로 감싸지 않으므로 응답에서는 일반 JSON 객체/배열로 보임
+ * - 원문은 유효한 JSON이어야 함: MySQL JSON 컬럼(쓰기 시 검증) 값이거나 validated()로 확인한 값만 사용
+ */
+public final class RawJson implements JsonSerializable {
+
+    private final String json;
+
+    private RawJson(String json) {
+        this.json = json;
+    }
+
+    /** 신뢰 가능한 JSON 원문 (null이면 null) */
+    public static RawJson of(String json) {
+        return json == null ? null : new RawJson(json);
+    }
+
+    /**
+     * 토큰 단위로 끝까지 읽어 문법만 확인 (트리 생성 없음)
+     * - 최상위 값이 정확히 하나가 아니면 IllegalArgumentException
+     */
+    public static RawJson validated(String json, ObjectMapper mapper) {
+        if (json == null) return null;
+        try (JsonParser p = mapper.getFactory().createParser(json)) {
+            if (p.nextToken() == null) throw new IllegalArgumentException("빈 JSON");
+            p.skipChildren();
+            if (p.nextToken() != null) throw new IllegalArgumentException("JSON 뒤에 불필요한 값");
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON 형식 오류: " + e.getMessage(), e);
+        }
+        return new RawJson(json);
+    }
+
+    public String json() {
+        return json;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
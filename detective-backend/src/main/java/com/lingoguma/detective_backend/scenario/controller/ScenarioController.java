@@ -1,17 +1,29 @@
 package com.lingoguma.detective_backend.scenario.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.service.TriggerHeatmap;
 import com.lingoguma.detective_backend.scenario.dto.ScenarioRequest;
 import com.lingoguma.detective_backend.scenario.dto.ScenarioResponse;
+import com.lingoguma.detective_backend.scenario.entity.ScenAccess;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCatalogCache;
+import com.lingoguma.detective_backend.scenario.service.ScenarioSearchIndex;
 import com.lingoguma.detective_backend.scenario.service.ScenarioService;
 import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
 import com.lingoguma.detective_backend.user.entity.Role;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/scenarios")
@@ -19,13 +31,49 @@ import java.util.List;
 public class ScenarioController {
 
     private final ScenarioService scenarioService;
+    private final ScenarioCatalogCache catalogCache;
+    private final ScenarioSearchIndex searchIndex;
+    private final ScenarioRepository scenarioRepository;
+    private final TriggerHeatmap triggerHeatmap;
+    private final ObjectMapper mapper;
 
     /**
      * 승인된 시나리오만 조회 (비로그인, 회원, 전문가 전부 공통)
+     * - 캐시된 직렬화 바이트를 그대로 응답, If-None-Match 일치 시 304 (본문 없음)
+     * - no-cache: 브라우저는 저장하되 매번 ETag로 재검증
      */
     @GetMapping
-    public ResponseEntity<List<ScenarioResponse>> getPublishedScenarios() {
-        return ResponseEntity.ok(scenarioService.getPublishedScenarios());
+    public ResponseEntity<byte[]> getPublishedScenarios(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        ScenarioCatalogCache.Entry catalog = catalogCache.get();
+        if (catalog.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(catalog.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(catalog.body());
+    }
+
+    /**
+     * 공개 시나리오 검색 (제목/요약/등장인물 이름/태그, 한글 부분 일치)
+     * - level, access(FREE/MEMBER) 필터, 점수순 page(0부터)/size(최대 50)
+     * - 메모리 역색인 조회 (DB LIKE 검색 없음)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer level,
+            @RequestParam(required = false) ScenAccess access,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(searchIndex.search(q, level, access, page, size));
     }
 
     /**
@@ -66,4 +114,33 @@ public class ScenarioController {
         );
         return ResponseEntity.ok(saved);
     }
+
+    /**
+     * 작성자/관리자 전용: 트리거 히트맵 (증거/시간/장소별 언급 횟수, 질문당 비율)
+     * - 누적 카운터만 조회 (세션 로그 스캔 없음)
+     */
+    @GetMapping("/{id}/trigger-heatmap")
+    public ResponseEntity<?> triggerHeatmap(
+            @PathVariable Integer id,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(401).body("로그인이 필요합니다.");
+        }
+        Scenario s = scenarioRepository.findById(id).orElse(null);
+        if (s == null) {
+            return ResponseEntity.status(404).body("시나리오를 찾을 수 없습니다.");
+        }
+        if (userDetails.getUser().getRole() != Role.ADMIN
+                && !userDetails.getUser().getUserIdx().equals(s.getCreatedBy())) {
+            return ResponseEntity.status(403).body("작성자 또는 관리자만 조회할 수 있습니다.");
+        }
+        Map<String, Object> content;
+        try {
+            content = mapper.readValue(s.getContentJson(), new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            content = Map.of();
+        }
+        return ResponseEntity.ok(triggerHeatmap.heatmap(id, content));
+    }
 }
@@ -1,5 +1,6 @@
 package com.lingoguma.detective_backend.scenario.dto;
 
+import com.lingoguma.detective_backend.global.json.RawJson;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
 import lombok.*;
 
@@ -13,7 +14,7 @@ public class ScenarioResponse {
     private String scenTitle;
     private String scenSummary;
     private Integer scenLevel;
-    private String contentJson;
+    private RawJson contentJson;   // JSON 컬럼 원문 그대로 (응답에서는 객체)
     private String scenAccess;
     private String scenStatus;
 
@@ -23,7 +24,7 @@ public class ScenarioResponse {
                 .scenTitle(s.getScenTitle())
                 .scenSummary(s.getScenSummary())
                 .scenLevel(s.getScenLevel())
-                .contentJson(s.getContentJson())
+                .contentJson(RawJson.of(s.getContentJson()))
                 .scenAccess(s.getScenAccess().name())
                 .scenStatus(s.getScenStatus().name())
                 .build();
@@ -0,0 +1,28 @@
+package com.lingoguma.detective_backend.scenario.dto;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenAccess;
+import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오 목록 한 줄 (contentJson 컬럼은 조회하지 않음)
+ * - 본문(등장인물/증거/타임라인/지도)은 상세 조회(GET /api/scenarios/{id})로
+ * - JPQL "select new" 생성자 순서 = 필드 순서
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioSummary {
+    private Integer scenIdx;
+    private String scenTitle;
+    private String scenSummary;
+    private Integer scenLevel;
+    private ScenAccess scenAccess;
+    private ScenStatus scenStatus;
+    private Integer createdBy;
+    private LocalDateTime createdAt;
+}
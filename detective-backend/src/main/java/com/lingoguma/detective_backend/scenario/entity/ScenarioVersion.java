@@ -0,0 +1,52 @@
+package com.lingoguma.detective_backend.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오 내용 스냅샷 (추가만 하고 수정하지 않음)
+ * - 세션은 시작 시점의 버전(versionId)에 고정 → 진행 중 시나리오가 바뀌어도 같은 내용으로 플레이
+ * - contentHash: 제목/요약/contentJson의 SHA-256, 내용이 같으면 새 버전을 만들지 않음
+ * - 파생 캐시(파싱된 content, 프롬프트, 트리거 색인 등)는 versionId로 키 → 무효화 불필요
+ */
+@Entity
+@Table(
+        name = "scenario_versions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sv_scen_no", columnNames = {"scenIdx", "versionNo"})
+)
+@Getter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class ScenarioVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer versionId;
+
+    @Column(nullable = false, updatable = false)
+    private Integer scenIdx;
+
+    @Column(nullable = false, updatable = false)
+    private Integer versionNo;     // 시나리오별 1부터 증가
+
+    @Column(nullable = false, updatable = false, length = 64)
+    private String contentHash;
+
+    @Column(length = 225, updatable = false)
+    private String scenTitle;
+
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String scenSummary;
+
+    @Column(columnDefinition = "JSON", updatable = false)
+    private String contentJson;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -1,14 +1,36 @@
 package com.lingoguma.detective_backend.scenario.repository;
 
+import com.lingoguma.detective_backend.scenario.dto.ScenarioSummary;
 import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
 
+import jakarta.persistence.LockModeType;
+
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ScenarioRepository extends JpaRepository<Scenario, Integer> {
     // 상태별 조회
     List<Scenario> findByScenStatus(ScenStatus status);
-    
+
+    // 새 버전 기록: 같은 시나리오의 버전 추가 직렬화
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Scenario s where s.scenIdx = :scenIdx")
+    Optional<Scenario> findForUpdate(@Param("scenIdx") Integer scenIdx);
+
+    // 목록용 요약 (contentJson 제외)
+    @Query("select new com.lingoguma.detective_backend.scenario.dto.ScenarioSummary("
+            + "s.scenIdx, s.scenTitle, s.scenSummary, s.scenLevel, s.scenAccess, s.scenStatus, s.createdBy, s.createdAt) "
+            + "from Scenario s where s.scenStatus = :status order by s.scenIdx")
+    List<ScenarioSummary> findSummariesByStatus(@Param("status") ScenStatus status);
+
+    @Query("select new com.lingoguma.detective_backend.scenario.dto.ScenarioSummary("
+            + "s.scenIdx, s.scenTitle, s.scenSummary, s.scenLevel, s.scenAccess, s.scenStatus, s.createdBy, s.createdAt) "
+            + "from Scenario s order by s.scenIdx")
+    List<ScenarioSummary> findAllSummaries();
 }
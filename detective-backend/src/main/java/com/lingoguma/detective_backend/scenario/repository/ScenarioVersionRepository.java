@@ -0,0 +1,15 @@
+package com.lingoguma.detective_backend.scenario.repository;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenarioVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ScenarioVersionRepository extends JpaRepository<ScenarioVersion, Integer> {
+
+    // 시나리오의 최신 버전
+    Optional<ScenarioVersion> findTopByScenIdxOrderByVersionNoDesc(Integer scenIdx);
+
+    // 시나리오 삭제 시 함께 삭제
+    void deleteByScenIdx(Integer scenIdx);
+}
@@ -0,0 +1,89 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.scenario.dto.ScenarioSummary;
+import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 공개 시나리오 목록(GET /api/scenarios) 응답 캐시 (요약 프로젝션, contentJson 제외)
+ * - 직렬화된 JSON 바이트와 강한 ETag(본문 SHA-256)를 함께 보관 → 요청마다 조회/직렬화 없음
+ * - 승인/반려/삭제/작성 시 invalidate (트랜잭션 중이면 커밋 후에 비움)
+ * - 세대 번호로 무효화 도중 만들어진 이전 목록이 다시 올라가는 것을 막음
+ */
+@Component
+@RequiredArgsConstructor
+public class ScenarioCatalogCache {
+
+    private final ScenarioRepository scenarioRepository;
+    private final ObjectMapper mapper;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry current;
+
+    public record Entry(byte[] body, String etag) {
+        // If-None-Match 비교 (쉼표 목록, W/ 접두, * 허용)
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+            for (String tag : ifNoneMatch.split(",")) {
+                String t = tag.trim();
+                if (t.equals("*")) return true;
+                if (t.startsWith("W/")) t = t.substring(2);
+                if (t.equals(etag)) return true;
+            }
+            return false;
+        }
+    }
+
+    public Entry get() {
+        Entry e = current;
+        if (e != null) return e;
+        synchronized (this) {
+            if (current != null) return current;
+            long gen = generation.get();
+            Entry built = build();
+            if (generation.get() == gen) {
+                current = built;
+            }
+            return built;
+        }
+    }
+
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    private Entry build() {
+        List<ScenarioSummary> list = scenarioRepository.findSummariesByStatus(ScenStatus.PUBLISHED);
+        try {
+            byte[] body = mapper.writeValueAsBytes(list);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return new Entry(body, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (Exception e) {
+            throw new RuntimeException("시나리오 목록 직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.scenario.dto.ScenarioSummary;
+import com.lingoguma.detective_backend.scenario.entity.ScenAccess;
+import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 공개 시나리오 검색용 메모리 역색인 (GET /api/scenarios/search)
+ * - 색인 필드: 제목(x3), 등장인물 이름(x2), 태그(content.scenario.tags, x2), 요약(x1)
+ * - 한글은 띄어쓰기/조사와 무관하게 찾도록 글자 bigram + unigram으로 색인 (영문/숫자도 같은 규칙)
+ * - 질의 gram의 75% 이상이 맞는 문서만, 가중치 × idf 합으로 정렬 (제목에 질의가 그대로 있으면 가산)
+ * - 시작 시 PUBLISHED 전체 적재, 이후 승인/반려/삭제 때 해당 시나리오만 반영 (커밋 후)
+ */
+@Component
+@RequiredArgsConstructor
+public class ScenarioSearchIndex {
+
+    public static final int MAX_SIZE = 50;
+
+    private static final float W_TITLE = 3f;
+    private static final float W_NAME = 2f;
+    private static final float W_TAG = 2f;
+    private static final float W_SUMMARY = 1f;
+    private static final float EXACT_TITLE_BONUS = 5f;
+    private static final double MIN_MATCH = 0.75;
+
+    private final ScenarioRepository scenarioRepository;
+    private final ObjectMapper mapper;
+
+    // docs/postings는 lock으로 보호 (갱신은 관리자 작업뿐이라 드묾)
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private final Map<String, Map<Integer, Float>> postings = new HashMap<>();
+
+    private record Doc(ScenarioSummary summary, String normTitle, Map<String, Float> grams) {}
+
+    private record Hit(Doc doc, double score) {}
+
+    // ==============================
+    // 색인 갱신
+    // ==============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Doc> loaded = new ArrayList<>();
+        for (Scenario s : scenarioRepository.findByScenStatus(ScenStatus.PUBLISHED)) {
+            loaded.add(toDoc(s));
+        }
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            for (Doc d : loaded) add(d);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 승인: 색인 문서는 지금 만들고 반영은 커밋 후
+    public void publish(Scenario s) {
+        Doc d = toDoc(s);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(d.summary().getScenIdx());
+                add(d);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 반려/삭제
+    public void unpublish(Integer scenIdx) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(scenIdx);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void add(Doc d) {
+        Integer id = d.summary().getScenIdx();
+        docs.put(id, d);
+        for (Map.Entry<String, Float> g : d.grams().entrySet()) {
+            postings.computeIfAbsent(g.getKey(), k -> new HashMap<>()).put(id, g.getValue());
+        }
+    }
+
+    private void remove(Integer scenIdx) {
+        Doc old = docs.remove(scenIdx);
+        if (old == null) return;
+        for (String g : old.grams().keySet()) {
+            Map<Integer, Float> p = postings.get(g);
+            if (p == null) continue;
+            p.remove(scenIdx);
+            if (p.isEmpty()) postings.remove(g);
+        }
+    }
+
+    private void afterCommit(Runnable r) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    r.run();
+                }
+            });
+        } else {
+            r.run();
+        }
+    }
+
+    // ==============================
+    // 검색: 순위 + 페이지 (page는 0부터)
+    // ==============================
+    public Map<String, Object> search(String q, Integer level, ScenAccess access, int page, int size) {
+        long started = System.nanoTime();
+        int pageSize = Math.max(1, Math.min(size, MAX_SIZE));
+        int from = Math.max(0, page) * pageSize;
+
+        Set<String> queryGrams = queryGrams(q);
+        String normQ = normalize(q).strip();
+        List<Hit> hits = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (queryGrams.isEmpty()) {
+                // 질의 없음: 필터만, 최신순
+                for (Doc d : docs.values()) {
+                    if (accept(d, level, access)) hits.add(new Hit(d, 0));
+                }
+            } else {
+                Map<Integer, double[]> acc = new HashMap<>(); // [점수, 맞은 gram 수]
+                int n = docs.size();
+                for (String g : queryGrams) {
+                    Map<Integer, Float> p = postings.get(g);
+                    if (p == null) continue;
+                    double idf = Math.log(1.0 + (double) n / p.size());
+                    for (Map.Entry<Integer, Float> e : p.entrySet()) {
+                        double[] a = acc.computeIfAbsent(e.getKey(), k -> new double[2]);
+                        a[0] += e.getValue() * idf;
+                        a[1] += 1;
+                    }
+                }
+                int need = (int) Math.ceil(queryGrams.size() * MIN_MATCH);
+                for (Map.Entry<Integer, double[]> e : acc.entrySet()) {
+                    if (e.getValue()[1] < need) continue;
+                    Doc d = docs.get(e.getKey());
+                    if (!accept(d, level, access)) continue;
+                    double score = e.getValue()[0];
+                    if (!normQ.isEmpty() && d.normTitle().contains(normQ)) score += EXACT_TITLE_BONUS;
+                    hits.add(new Hit(d, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort((a, b) -> {
+            int c = Double.compare(b.score(), a.score());
+            return c != 0 ? c : Integer.compare(b.doc().summary().getScenIdx(), a.doc().summary().getScenIdx());
+        });
+        List<ScenarioSummary> items = new ArrayList<>();
+        for (int i = from; i < Math.min(hits.size(), from + pageSize); i++) {
+            items.add(hits.get(i).doc().summary());
+        }
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("items", items);
+        m.put("total", hits.size());
+        m.put("page", Math.max(0, page));
+        m.put("size", pageSize);
+        m.put("tookMicros", (System.nanoTime() - started) / 1_000);
+        return m;
+    }
+
+    private static boolean accept(Doc d, Integer level, ScenAccess access) {
+        if (level != null && !level.equals(d.summary().getScenLevel())) return false;
+        return access == null || access == d.summary().getScenAccess();
+    }
+
+    // ==============================
+    // 색인 문서 구성
+    // ==============================
+    @SuppressWarnings("unchecked")
+    private Doc toDoc(Scenario s) {
+        Map<String, Object> content;
+        try {
+            content = mapper.readValue(s.getContentJson(), new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            content = Map.of();
+        }
+
+        Map<String, Float> grams = new HashMap<>();
+        addGrams(grams, s.getScenTitle(), W_TITLE);
+        addGrams(grams, s.getScenSummary(), W_SUMMARY);
+
+        Object chars = content.get("characters");
+        if (chars instanceof List<?> list) {
+            for (Object c : list) {
+                if (c instanceof Map<?, ?> ch && ch.get("name") != null) {
+                    addGrams(grams, String.valueOf(ch.get("name")), W_NAME);
+                }
+            }
+        }
+        Object meta = content.get("scenario");
+        if (meta instanceof Map<?, ?> sm && sm.get("tags") instanceof List<?> tags) {
+            for (Object t : tags) addGrams(grams, String.valueOf(t), W_TAG);
+        }
+
+        ScenarioSummary summary = new ScenarioSummary(
+                s.getScenIdx(), s.getScenTitle(), s.getScenSummary(), s.getScenLevel(),
+                s.getScenAccess(), s.getScenStatus(), s.getCreatedBy(), s.getCreatedAt());
+        return new Doc(summary, normalize(s.getScenTitle()), grams);
+    }
+
+    private static void addGrams(Map<String, Float> grams, String text, float weight) {
+        for (String word : words(text)) {
+            for (int i = 0; i < word.length(); i++) {
+                grams.merge(word.substring(i, i + 1), weight, Float::sum);
+                if (i + 1 < word.length()) {
+                    grams.merge(word.substring(i, i + 2), weight, Float::sum);
+                }
+            }
+        }
+    }
+
+    // 질의: 두 글자 이상 단어는 bigram, 한 글자 단어는 unigram
+    private static Set<String> queryGrams(String q) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String word : words(q)) {
+            if (word.length() == 1) {
+                out.add(word);
+            } else {
+                for (int i = 0; i + 1 < word.length(); i++) out.add(word.substring(i, i + 2));
+            }
+        }
+        return out;
+    }
+
+    private static List<String> words(String text) {
+        List<String> out = new ArrayList<>();
+        for (String w : normalize(text).split("[^\\p{IsLetter}\\p{IsDigit}]+")) {
+            if (!w.isEmpty()) out.add(w);
+        }
+        return out;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,7 +1,10 @@
 package com.lingoguma.detective_backend.scenario.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.global.json.RawJson;
 import com.lingoguma.detective_backend.scenario.dto.ScenarioRequest;
 import com.lingoguma.detective_backend.scenario.dto.ScenarioResponse;
+import com.lingoguma.detective_backend.scenario.dto.ScenarioSummary;
 import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
 import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
@@ -15,26 +18,23 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ScenarioService {
 
     private final ScenarioRepository scenarioRepository;
+    private final ObjectMapper mapper;
+    private final ScenarioCatalogCache catalogCache;
 
-    // 모든 시나리오 조회 (관리/내부용)
-    public List<ScenarioResponse> getAllScenarios() {
-        return scenarioRepository.findAll().stream()
-                .map(ScenarioResponse::fromEntity)
-                .collect(Collectors.toList());
+    // 모든 시나리오 조회 (관리/내부용, 요약만)
+    public List<ScenarioSummary> getAllScenarios() {
+        return scenarioRepository.findAllSummaries();
     }
 
-    // 승인된 시나리오만 조회 (공개 목록)
-    public List<ScenarioResponse> getPublishedScenarios() {
-        return scenarioRepository.findByScenStatus(ScenStatus.PUBLISHED).stream()
-                .map(ScenarioResponse::fromEntity)
-                .collect(Collectors.toList());
+    // 승인된 시나리오만 조회 (공개 목록, 요약만 - 본문은 getScenarioForRead)
+    public List<ScenarioSummary> getPublishedScenarios() {
+        return scenarioRepository.findSummariesByStatus(ScenStatus.PUBLISHED);
     }
 
     // 단일 시나리오 조회 (preview 지원)
@@ -68,6 +68,12 @@ public class ScenarioService {
     @Transactional
     public ScenarioResponse createScenario(ScenarioRequest request, Integer userIdx) {
         // 프론트에서 contentJson 문자열에 map/characters.image 등이 모두 포함되어 들어옵니다.
+        // 조회 시 원문을 그대로 응답에 싣기 때문에 저장 전에 문법 검증
+        try {
+            RawJson.validated(request.getContentJson(), mapper);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "contentJson " + e.getMessage());
+        }
         Scenario scenario = Scenario.builder()
                 .scenTitle(request.getScenTitle())
                 .scenSummary(request.getScenSummary())
@@ -78,6 +84,8 @@ public class ScenarioService {
                 .createdBy(userIdx)
                 .build();
 
-        return ScenarioResponse.fromEntity(scenarioRepository.save(scenario));
+        Scenario saved = scenarioRepository.save(scenario);
+        catalogCache.invalidate();
+        return ScenarioResponse.fromEntity(saved);
     }
 }
@@ -0,0 +1,46 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenarioVersion;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 고정된 시나리오 버전의 파싱 결과 (메모리 전용, 불변 내용)
+ * - content: contentJson 파싱 결과 → 읽기 전용으로만 사용 (수정 금지)
+ * - derive: 내용에서 계산되는 값(프롬프트, 트리거 색인, 분석 맥락)을 키별로 한 번만 계산해 보관
+ *   버전 내용이 바뀌지 않으므로 무효화 없음, 스냅샷이 캐시에서 밀려나면 함께 사라짐
+ */
+@Getter
+public class ScenarioSnapshot {
+
+    private final Integer versionId;
+    private final Integer scenIdx;
+    private final Integer versionNo;
+    private final String contentHash;
+    private final String scenTitle;
+    private final String scenSummary;
+    private final Map<String, Object> content;
+
+    @Getter(AccessLevel.NONE)
+    private final ConcurrentHashMap<String, Object> derived = new ConcurrentHashMap<>();
+
+    ScenarioSnapshot(ScenarioVersion v, Map<String, Object> content) {
+        this.versionId = v.getVersionId();
+        this.scenIdx = v.getScenIdx();
+        this.versionNo = v.getVersionNo();
+        this.contentHash = v.getContentHash();
+        this.scenTitle = v.getScenTitle();
+        this.scenSummary = v.getScenSummary();
+        this.content = content;
+    }
+
+    // builder 안에서 다시 derive를 부르지 말 것 (ConcurrentHashMap.computeIfAbsent 재진입 불가)
+    @SuppressWarnings("unchecked")
+    public <T> T derive(String key, Function<ScenarioSnapshot, T> builder) {
+        return (T) derived.computeIfAbsent(key, k -> builder.apply(this));
+    }
+}
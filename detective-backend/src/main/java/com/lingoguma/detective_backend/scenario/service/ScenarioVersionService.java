@@ -0,0 +1,168 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioVersion;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioVersionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시나리오 버전 고정(pin)과 버전별 스냅샷 캐시
+ * - pin: 현재 내용의 해시가 최신 버전과 같으면 그 버전, 다르면 새 버전 추가 (scenario_versions)
+ *   새 버전 추가는 별도 트랜잭션에서 시나리오 행 잠금 후 재확인 → 동시 시작에도 버전 번호 중복 없음
+ * - snapshot: versionId → 파싱된 내용 + 파생 값, 접근 순서 LRU (scenario.snapshot.max-entries)
+ *   버전은 바뀌지 않으므로 무효화 없이 밀어내기만 함
+ */
+@Service
+public class ScenarioVersionService {
+
+    private final ScenarioRepository scenarioRepository;
+    private final ScenarioVersionRepository versionRepository;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate appendTx;
+
+    @Value("${scenario.snapshot.max-entries:64}")
+    private int maxEntries;
+
+    // 시나리오별 최신 버전 힌트 (버전은 불변이라 해시가 같으면 그대로 써도 안전)
+    private final ConcurrentHashMap<Integer, Latest> latest = new ConcurrentHashMap<>();
+
+    // 접근 순서 LinkedHashMap = LRU (this 모니터로 보호)
+    private final LinkedHashMap<Integer, ScenarioSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, ScenarioSnapshot> eldest) {
+            return size() > Math.max(1, maxEntries);
+        }
+    };
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder appended = new LongAdder();
+
+    private record Latest(Integer versionId, String hash) {}
+
+    public ScenarioVersionService(ScenarioRepository scenarioRepository,
+                                  ScenarioVersionRepository versionRepository,
+                                  ObjectMapper mapper,
+                                  PlatformTransactionManager txManager) {
+        this.scenarioRepository = scenarioRepository;
+        this.versionRepository = versionRepository;
+        this.mapper = mapper;
+        this.appendTx = new TransactionTemplate(txManager);
+        this.appendTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ==============================
+    // 버전 고정: 현재 내용에 해당하는 versionId
+    // ==============================
+    public Integer pin(Scenario s) {
+        String hash = contentHash(s);
+        Latest hint = latest.get(s.getScenIdx());
+        if (hint != null && hint.hash().equals(hash)) {
+            return hint.versionId();
+        }
+        ScenarioVersion v = versionRepository.findTopByScenIdxOrderByVersionNoDesc(s.getScenIdx()).orElse(null);
+        if (v == null || !v.getContentHash().equals(hash)) {
+            v = appendTx.execute(status -> append(s.getScenIdx()));
+        }
+        latest.put(s.getScenIdx(), new Latest(v.getVersionId(), v.getContentHash()));
+        return v.getVersionId();
+    }
+
+    // 잠금 후 최신 내용으로 재확인 (다른 요청이 먼저 추가했으면 그 버전 사용)
+    private ScenarioVersion append(Integer scenIdx) {
+        Scenario locked = scenarioRepository.findForUpdate(scenIdx)
+                .orElseThrow(() -> new RuntimeException("시나리오 없음"));
+        String hash = contentHash(locked);
+        ScenarioVersion last = versionRepository.findTopByScenIdxOrderByVersionNoDesc(scenIdx).orElse(null);
+        if (last != null && last.getContentHash().equals(hash)) {
+            return last;
+        }
+        appended.increment();
+        return versionRepository.save(ScenarioVersion.builder()
+                .scenIdx(scenIdx)
+                .versionNo(last == null ? 1 : last.getVersionNo() + 1)
+                .contentHash(hash)
+                .scenTitle(locked.getScenTitle())
+                .scenSummary(locked.getScenSummary())
+                .contentJson(locked.getContentJson())
+                .build());
+    }
+
+    // ==============================
+    // 버전 스냅샷 (LRU)
+    // ==============================
+    public ScenarioSnapshot snapshot(Integer versionId) {
+        synchronized (this) {
+            ScenarioSnapshot cached = snapshots.get(versionId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        // DB 조회/파싱은 잠금 밖에서 (동시 miss면 먼저 넣은 쪽 사용)
+        ScenarioVersion v = versionRepository.findById(versionId)
+                .orElseThrow(() -> new RuntimeException("시나리오 버전 없음: " + versionId));
+        Map<String, Object> content;
+        try {
+            content = mapper.readValue(v.getContentJson(), new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            content = Map.of();
+        }
+        ScenarioSnapshot loaded = new ScenarioSnapshot(v, content);
+        loads.increment();
+        synchronized (this) {
+            ScenarioSnapshot raced = snapshots.putIfAbsent(versionId, loaded);
+            return raced != null ? raced : loaded;
+        }
+    }
+
+    // 시나리오 삭제 시 (버전 행은 호출 측 트랜잭션에서 삭제)
+    public void forget(Integer scenIdx) {
+        latest.remove(scenIdx);
+        synchronized (this) {
+            snapshots.values().removeIf(s -> s.getScenIdx().equals(scenIdx));
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        synchronized (this) {
+            m.put("cachedSnapshots", snapshots.size());
+        }
+        m.put("maxEntries", maxEntries);
+        m.put("hits", hits.sum());
+        m.put("loads", loads.sum());
+        m.put("versionsAppended", appended.sum());
+        return m;
+    }
+
+    // 제목/요약/본문 해시 (구분자 \0)
+    static String contentHash(Scenario s) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(String.valueOf(s.getScenTitle()).getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(String.valueOf(s.getScenSummary()).getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(String.valueOf(s.getContentJson()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(md.digest());
+        } catch (Exception e) {
+            throw new RuntimeException("시나리오 해시 실패: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.lingoguma.detective_backend.game.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * EngineCircuitBreaker 세대(permit) 처리
+ * - CLOSED에서 허용된 호출이 OPEN → HALF_OPEN 뒤에 끝나면 시험 호출로 세지 않음
+ */
+class EngineCircuitBreakerTest {
+
+    // 최소 2건, 실패율 50%면 OPEN, openDuration 0 → 다음 tryAcquire에서 바로 HALF_OPEN, 시험 호출 1건
+    private EngineCircuitBreaker breaker() {
+        return new EngineCircuitBreaker("hf", 4, 2, 0.5, 10_000L, 1.0, 0L, 1);
+    }
+
+    @Test
+    void staleClosedSuccessDoesNotCloseHalfOpen() {
+        EngineCircuitBreaker b = breaker();
+        long slowCall = b.tryAcquire();          // CLOSED에서 허용, 늦게 끝남
+        b.onFailure(b.tryAcquire(), 5);
+        b.onFailure(b.tryAcquire(), 5);
+        assertEquals(EngineCircuitBreaker.State.OPEN, b.getState());
+
+        long probe = b.tryAcquire();             // HALF_OPEN 시험 호출
+        assertNotEquals(EngineCircuitBreaker.REJECTED, probe);
+        assertEquals(EngineCircuitBreaker.State.HALF_OPEN, b.getState());
+
+        b.onSuccess(slowCall, 5);                // 이전 세대 결과 → 무시
+        assertEquals(EngineCircuitBreaker.State.HALF_OPEN, b.getState());
+
+        b.onSuccess(probe, 5);
+        assertEquals(EngineCircuitBreaker.State.CLOSED, b.getState());
+    }
+
+    @Test
+    void staleClosedFailureDoesNotReopenHalfOpen() {
+        EngineCircuitBreaker b = breaker();
+        long slowCall = b.tryAcquire();
+        b.onFailure(b.tryAcquire(), 5);
+        b.onFailure(b.tryAcquire(), 5);
+        long probe = b.tryAcquire();
+
+        b.onFailure(slowCall, 5);
+        assertEquals(EngineCircuitBreaker.State.HALF_OPEN, b.getState());
+        // 시험 호출 자리를 빼앗지 않음 → 추가 허용 없음
+        assertEquals(EngineCircuitBreaker.REJECTED, b.tryAcquire());
+
+        b.onSuccess(probe, 5);
+        assertEquals(EngineCircuitBreaker.State.CLOSED, b.getState());
+    }
+}
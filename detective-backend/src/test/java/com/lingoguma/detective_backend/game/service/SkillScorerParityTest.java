@@ -0,0 +1,106 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeRequest;
+import com.lingoguma.detective_backend.game.dto.NlpAnalyzeResponse;
+import com.lingoguma.detective_backend.game.dto.SessionMetrics;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SkillScorer(engine=java) ↔ 파이썬 score_dummy 패리티
+ * - nlp/dummy_parity.json: detective-nlp/tools/record_dummy_fixtures.py 를 실제 numpy 환경에서 실행해 기록
+ *   (recordedWith.numpy 필수, 파일이 없으면 실패 → 대체 픽스처로 넘어가지 않음)
+ * - nlp/dummy_reference_numpy_stub.json: numpy 대체 모듈로 기록한 회귀 확인용 (패리티 근거 아님)
+ * - 스킬 점수는 정수 완전 일치, 보조 지표는 1e-9 오차 허용
+ * - 세션 누적 지표(SessionMetrics)를 붙인 요청도 로그만으로 채점한 결과와 같아야 함
+ */
+class SkillScorerParityTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SkillScorer scorer = new SkillScorer();
+
+    @TestFactory
+    Stream<DynamicTest> matchesRecordedPythonOutputs() throws Exception {
+        Map<String, Object> recorded;
+        try (InputStream in = getClass().getResourceAsStream("/nlp/dummy_parity.json")) {
+            assertNotNull(in, "nlp/dummy_parity.json 없음: 실제 numpy 환경에서 "
+                    + "detective-nlp/tools/record_dummy_fixtures.py 로 기록 후 커밋");
+            recorded = mapper.readValue(in, new TypeReference<Map<String, Object>>() {});
+        }
+        Map<?, ?> env = (Map<?, ?>) recorded.get("recordedWith");
+        assertTrue(env != null && env.get("numpy") != null, "recordedWith.numpy 없음: 기록 환경 불명");
+        return cases(mapper.convertValue(recorded.get("cases"), new TypeReference<List<Map<String, Object>>>() {}));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> matchesStubNumpyReference() throws Exception {
+        List<Map<String, Object>> fixtures;
+        try (InputStream in = getClass().getResourceAsStream("/nlp/dummy_reference_numpy_stub.json")) {
+            fixtures = mapper.readValue(in, new TypeReference<List<Map<String, Object>>>() {});
+        }
+        return cases(fixtures);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> sessionMetricsMatchLogScoring() throws Exception {
+        List<Map<String, Object>> fixtures;
+        try (InputStream in = getClass().getResourceAsStream("/nlp/dummy_reference_numpy_stub.json")) {
+            fixtures = mapper.readValue(in, new TypeReference<List<Map<String, Object>>>() {});
+        }
+        return fixtures.stream().map(f -> DynamicTest.dynamicTest(String.valueOf(f.get("name")), () -> {
+            NlpAnalyzeRequest req = mapper.convertValue(f.get("request"), NlpAnalyzeRequest.class);
+            NlpAnalyzeResponse fromLog = scorer.score(req);
+            req.setSessionMetrics(metricsOf(SkillScorer.extractUserQuestions(req.getLogJson())));
+            NlpAnalyzeResponse fromMetrics = scorer.score(req);
+            assertEquals(fromLog.getSkills(), fromMetrics.getSkills(), "skills");
+            assertEquals(fromLog.getSubmetrics(), fromMetrics.getSubmetrics(), "submetrics");
+        }));
+    }
+
+    // GameSessionService.accumulate 와 같은 규칙으로 누적
+    private SessionMetrics metricsOf(List<String> questions) {
+        SessionMetrics m = new SessionMetrics();
+        for (String q : questions) {
+            int len = SkillScorer.len(q);
+            int index = m.getQuestionCount();
+            m.setQuestionCount(index + 1);
+            m.setTotalLength(m.getTotalLength() + len);
+            m.setPenaltySum(m.getPenaltySum() + SkillScorer.nonsensePenalty(q));
+            if (SkillScorer.isTrivial(q)) {
+                m.setTrivialCount(m.getTrivialCount() + 1);
+                m.getTrivialIndexes().add(index);
+            } else {
+                m.setMeaningfulLength(m.getMeaningfulLength() + len);
+            }
+        }
+        return m;
+    }
+
+    private Stream<DynamicTest> cases(List<Map<String, Object>> fixtures) {
+        return fixtures.stream().map(f -> DynamicTest.dynamicTest(String.valueOf(f.get("name")), () -> {
+            NlpAnalyzeRequest req = mapper.convertValue(f.get("request"), NlpAnalyzeRequest.class);
+            NlpAnalyzeResponse resp = scorer.score(req);
+
+            Map<String, Integer> expectedSkills = mapper.convertValue(
+                    f.get("skills"), new TypeReference<Map<String, Integer>>() {});
+            assertEquals(expectedSkills, resp.getSkills(), "skills");
+
+            Map<String, Double> expectedSub = mapper.convertValue(
+                    f.get("submetrics"), new TypeReference<Map<String, Double>>() {});
+            for (Map.Entry<String, Double> e : expectedSub.entrySet()) {
+                assertEquals(e.getValue(), resp.getSubmetrics().get(e.getKey()), 1e-9, e.getKey());
+            }
+        }));
+    }
+}
@@ -1,5 +1,5 @@
 // src/pages/game/AnalysisPage.tsx
-import { useEffect, useMemo, useState } from "react";
+import { useCallback, useEffect, useMemo, useState } from "react";
 import { useParams, useLocation, useNavigate } from "react-router-dom";
 import { api } from "../../shared/api/client";
 
@@ -54,6 +54,12 @@ type GameResultDTO = {
     skillsJson: Skills;
     submetrics?: Record<string, number>;
     engine?: string;
+    analysisStatus?: "PENDING" | "DONE" | "FAILED";
+};
+type AnalysisStatusDTO = {
+    resultId: number;
+    analysisStatus: "PENDING" | "DONE" | "FAILED";
+    skillsJson?: Skills | null;
 };
 type ScenarioDetail = {
     scenIdx: number;
@@ -63,6 +69,10 @@ type ScenarioDetail = {
     contentJson?: string | any;
 };
 type EvidenceDoc = { id: string; name: string; desc?: string };
+type AnalysisState = "PENDING" | "DONE" | "FAILED";
+
+// 폴링으로 기다리는 최대 시간(초), 이후에는 SSE 구독 + 수동 확인
+const POLL_SECONDS = 90;
 
 export default function AnalysisPage() {
     const { scenarioId } = useParams();
@@ -104,6 +114,39 @@ export default function AnalysisPage() {
         null
     );
     const [engine, setEngine] = useState<string | undefined>(undefined);
+    // 폴링 시간 안에 분석이 끝나지 않으면 PENDING 유지 (0점 표시 대신 안내)
+    const [analysisState, setAnalysisState] = useState<AnalysisState>("DONE");
+    const [checking, setChecking] = useState(false);
+
+    const applyResult = useCallback((data: GameResultDTO) => {
+        setAnalysisState(data.analysisStatus ?? "DONE");
+        setIsCorrect(Boolean(data.correct));
+        setSkills({
+            logic: Number(data.skillsJson?.logic ?? 0),
+            creativity: Number(data.skillsJson?.creativity ?? 0),
+            focus: Number(data.skillsJson?.focus ?? 0),
+            diversity: Number(data.skillsJson?.diversity ?? 0),
+            depth: Number(data.skillsJson?.depth ?? 0),
+        });
+        setAnswer(data.answerJson ?? {});
+        setSubmetrics(data.submetrics ?? null);
+        setEngine(data.engine);
+    }, []);
+
+    // 결과 다시 불러오기 (SSE 완료 알림 / 수동 확인)
+    const refreshResult = useCallback(async () => {
+        setChecking(true);
+        try {
+            const res = await api.get<GameResultDTO>(
+                `/game-results/${resultId}`
+            );
+            applyResult(res.data);
+        } catch {
+            // 다음 알림/수동 확인에서 다시 시도
+        } finally {
+            setChecking(false);
+        }
+    }, [resultId, applyResult]);
 
     useEffect(() => {
         const run = async () => {
@@ -121,17 +164,23 @@ export default function AnalysisPage() {
                     `/game-results/${resultId}`
                 );
                 const data = res.data;
-                setIsCorrect(Boolean(data.correct));
-                setSkills({
-                    logic: Number(data.skillsJson?.logic ?? 0),
-                    creativity: Number(data.skillsJson?.creativity ?? 0),
-                    focus: Number(data.skillsJson?.focus ?? 0),
-                    diversity: Number(data.skillsJson?.diversity ?? 0),
-                    depth: Number(data.skillsJson?.depth ?? 0),
-                });
-                setAnswer(data.answerJson ?? {});
-                setSubmetrics(data.submetrics ?? null);
-                setEngine(data.engine);
+
+                // NLP 분석은 서버에서 비동기로 진행 → 끝날 때까지 상태 폴링
+                if (data.analysisStatus === "PENDING") {
+                    for (let i = 0; i < POLL_SECONDS; i++) {
+                        await new Promise((r) => setTimeout(r, 1000));
+                        const st = await api.get<AnalysisStatusDTO>(
+                            `/game-results/${resultId}/status`
+                        );
+                        if (st.data.analysisStatus !== "PENDING") {
+                            data.analysisStatus = st.data.analysisStatus;
+                            if (st.data.skillsJson) data.skillsJson = st.data.skillsJson;
+                            break;
+                        }
+                    }
+                }
+
+                applyResult(data);
 
                 if (scenarioId) {
                     const scen = await api.get<ScenarioDetail>(
@@ -171,7 +220,22 @@ export default function AnalysisPage() {
             }
         };
         run();
-    }, [resultId, scenarioId]);
+    }, [resultId, scenarioId, applyResult]);
+
+    // 폴링 시간이 지나도 분석 중이면 완료 알림(SSE) 구독
+    //  - 서버가 연결을 닫으면(타임아웃) EventSource가 자동 재연결
+    useEffect(() => {
+        if (analysisState !== "PENDING") return;
+        const es = new EventSource(
+            `${import.meta.env.VITE_API_BASE}/game-results/${resultId}/events`,
+            { withCredentials: true }
+        );
+        es.addEventListener("analysis", () => {
+            es.close();
+            refreshResult();
+        });
+        return () => es.close();
+    }, [analysisState, resultId, refreshResult]);
 
     const formatTime = (s?: number) => {
         if (s == null || Number.isNaN(s)) return "00:00";
@@ -481,9 +545,36 @@ export default function AnalysisPage() {
                             <button className="px-4 py-2 rounded-lg border border-white/15 bg-white/5 hover:bg-white/10 transition">
                                 이전 제출 비교
                             </button>
-                            <div className="h-[380px]">
-                                <Radar data={data} options={options} />
-                            </div>
+                            {analysisState === "DONE" ? (
+                                <div className="h-[380px]">
+                                    <Radar data={data} options={options} />
+                                </div>
+                            ) : analysisState === "PENDING" ? (
+                                <div className="mt-4 rounded-xl border border-amber-400/30 bg-amber-400/10 p-4">
+                                    <div className="flex items-center gap-3">
+                                        <div className="w-6 h-6 rounded-full border-4 border-amber-400 border-t-transparent animate-spin" />
+                                        <div className="font-bold text-amber-200">
+                                            아직 능력치를 분석하고 있습니다.
+                                        </div>
+                                    </div>
+                                    <div className="mt-2 text-sm text-white/80">
+                                        분석이 끝나면 이 화면에 자동으로
+                                        반영됩니다.
+                                    </div>
+                                    <button
+                                        onClick={refreshResult}
+                                        disabled={checking}
+                                        className="mt-3 px-4 py-2 rounded-lg border border-white/15 bg-white/5 hover:bg-white/10 transition disabled:opacity-50"
+                                    >
+                                        {checking ? "확인 중..." : "다시 확인"}
+                                    </button>
+                                </div>
+                            ) : (
+                                <div className="mt-4 rounded-xl border border-rose-400/30 bg-rose-500/10 p-4 text-rose-200">
+                                    능력치 분석에 실패했습니다. 정답 여부와
+                                    제출한 답안은 정상 저장되었습니다.
+                                </div>
+                            )}
                         </section>
 
                         {/* 진단 리포트 + 세부 지표 */}
@@ -491,7 +582,12 @@ export default function AnalysisPage() {
                             <div className="font-extrabold mb-2">
                                 진단 리포트
                             </div>
-                            {summaryInsights.length > 0 ? (
+                            {analysisState !== "DONE" ? (
+                                <div className="text-white/70">
+                                    능력치 분석이 끝나면 진단 리포트가
+                                    표시됩니다.
+                                </div>
+                            ) : summaryInsights.length > 0 ? (
                                 <ul className="list-disc pl-5 space-y-1 text-white/90">
                                     {summaryInsights.map((s, i) => (
                                         <li key={i}>{s}</li>
@@ -503,7 +599,7 @@ export default function AnalysisPage() {
                                 </div>
                             )}
 
-                            {submetrics && (
+                            {analysisState === "DONE" && submetrics && (
                                 <>
                                     <div className="mt-3 font-bold text-white/90">
                                         세부 지표
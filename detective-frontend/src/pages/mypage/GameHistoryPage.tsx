@@ -3,42 +3,96 @@ import { api } from "../../shared/api/client";
 import { useAuth } from "../../store/auth.store";
 import { useNavigate } from "react-router-dom";
 
-interface GameResult {
+// GET /game-results/me/history 한 줄 (시나리오 제목 포함, 분석 전/실패면 점수 null)
+interface GameHistoryItem {
   resultId: number;
   scenIdx: number;
-  answerJson: any;
-  skillsJson: {
-    logic: number;
-    creativity: number;
-    focus: number;
-    diversity: number;
-    depth: number;
-  };
+  scenTitle: string | null;
+  scenLevel: number | null;
   correct: boolean;
+  analysisStatus: "PENDING" | "DONE" | "FAILED" | null;
+  totalScore: number | null;
+  createdAt: string;
+}
+
+interface HistoryPage {
+  items: GameHistoryItem[];
+  nextCursor: number | null;
 }
 
+// GET /game-results/me/summary
+interface GameSummary {
+  gamesPlayed: number;
+  solvedCount: number;
+  solveRate: number;
+  scoredCount: number;
+  averages: Record<string, number>;
+  bests: Record<string, number>;
+  lastPlayedAt: string | null;
+}
+
+const PAGE_SIZE = 20;
+
 export default function GameHistoryPage() {
   const { user } = useAuth();
-  const [results, setResults] = useState<GameResult[]>([]);
+  const [summary, setSummary] = useState<GameSummary | null>(null);
+  const [results, setResults] = useState<GameHistoryItem[]>([]);
+  const [nextCursor, setNextCursor] = useState<number | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const navigate = useNavigate();
 
+  const fetchPage = async (cursor: number | null) => {
+    const res = await api.get<HistoryPage>("/game-results/me/history", {
+      params: { limit: PAGE_SIZE, ...(cursor != null ? { cursor } : {}) },
+    });
+    setResults((prev) => (cursor == null ? res.data.items : [...prev, ...res.data.items]));
+    setNextCursor(res.data.nextCursor);
+  };
+
   useEffect(() => {
-    const fetchResults = async () => {
+    const fetchAll = async () => {
       try {
-        const res = await api.get<GameResult[]>("/game-results/me");
-        setResults(res.data);
+        const [sum] = await Promise.all([
+          api.get<GameSummary>("/game-results/me/summary"),
+          fetchPage(null),
+        ]);
+        setSummary(sum.data);
       } catch (err) {
         console.error("게임 기록 불러오기 실패:", err);
       }
     };
-    if (user) fetchResults();
+    if (user) fetchAll();
   }, [user]);
 
+  const loadMore = async () => {
+    if (nextCursor == null) return;
+    setLoadingMore(true);
+    try {
+      await fetchPage(nextCursor);
+    } catch (err) {
+      console.error("게임 기록 불러오기 실패:", err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   if (!user) return <p>로그인이 필요합니다.</p>;
 
   return (
     <div>
       <h3>내 게임 기록</h3>
+      {summary && summary.gamesPlayed > 0 && (
+        <div style={{ border: "1px solid #ccc", margin: 8, padding: 8 }}>
+          <p>
+            플레이 {summary.gamesPlayed}회 · 정답 {summary.solvedCount}회 ({summary.solveRate}%)
+          </p>
+          {summary.scoredCount > 0 && (
+            <p>
+              평균 총점 {summary.averages.total} · 최고 총점 {summary.bests.total}
+            </p>
+          )}
+        </div>
+      )}
       {results.length === 0 ? (
         <p>게임 기록이 없습니다.</p>
       ) : (
@@ -47,14 +101,21 @@ export default function GameHistoryPage() {
             <li
               key={r.resultId}
               style={{ border: "1px solid #ccc", margin: 8, padding: 8, cursor: "pointer" }}
-              onClick={() => navigate(`/my/game-result/${r.resultId}`, { state: r })}
+              onClick={() => navigate(`/my/game-result/${r.resultId}`)}
             >
-              <p>시나리오 ID: {r.scenIdx}</p>
+              <p>시나리오: {r.scenTitle ?? `삭제된 시나리오 (ID ${r.scenIdx})`}</p>
               <p>정답 여부: {r.correct ? "정답" : "오답"}</p>
+              {r.analysisStatus === "PENDING" && <p>능력치 분석 중</p>}
+              {r.totalScore != null && <p>총점: {r.totalScore}</p>}
             </li>
           ))}
         </ul>
       )}
+      {nextCursor != null && (
+        <button onClick={loadMore} disabled={loadingMore}>
+          {loadingMore ? "불러오는 중..." : "더 보기"}
+        </button>
+      )}
     </div>
   );
 }
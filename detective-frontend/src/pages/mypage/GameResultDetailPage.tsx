@@ -1,4 +1,6 @@
-import { useLocation, useNavigate } from "react-router-dom";
+import { useEffect, useState } from "react";
+import { useNavigate, useParams } from "react-router-dom";
+import { api } from "../../shared/api/client";
 import { Radar } from "react-chartjs-2";
 import {
   Chart as ChartJS,
@@ -13,13 +15,24 @@ import {
 ChartJS.register(RadialLinearScale, PointElement, LineElement, Filler, Tooltip, Legend);
 
 export default function GameResultDetailPage() {
-  const location = useLocation();
+  const { resultId } = useParams();
   const navigate = useNavigate();
+  const [result, setResult] = useState<any>(null);
+  const [failed, setFailed] = useState(false);
 
-  const result = location.state as any;
-  if (!result) return <p>결과 데이터가 없습니다.</p>;
+  // 기록 목록은 요약만 가지므로 상세(답변/스킬)는 결과 단건 조회
+  useEffect(() => {
+    api
+      .get(`/game-results/${resultId}`)
+      .then((res) => setResult(res.data))
+      .catch(() => setFailed(true));
+  }, [resultId]);
 
-  const { answerJson, skillsJson, correct } = result;
+  if (failed) return <p>결과 데이터가 없습니다.</p>;
+  if (!result) return <p>불러오는 중...</p>;
+
+  const { answerJson, correct } = result;
+  const skillsJson = result.skillsJson ?? {};
 
   const data = {
     labels: ["논리력", "창의력", "집중력", "다양성", "깊이"],
@@ -1,10 +1,12 @@
 # app/main.py
 from typing import Any, Dict, List, Optional, Literal, Annotated, Tuple
-from fastapi import FastAPI, Query
+from collections import OrderedDict
+from fastapi import FastAPI, Query, HTTPException
 from pydantic import BaseModel
 import numpy as np
 import re
 import os
+import threading
 import torch
 import torch.nn.functional as F
 from transformers import AutoTokenizer, AutoModel, AutoModelForSequenceClassification
@@ -27,12 +29,27 @@ class AnalyzeRequest(BaseModel):
     goldAnswer: Optional[Dict[str, Any]] = None  # 정답 메타(범인/동기/수법/핵심증거)
     timings: Optional[Dict[str, Any]] = None
     engine: Optional[Literal["hf","dummy"]] = None
+    # 시나리오 맥락(caseTitle/caseSummary/facts/goldAnswer) 해시.
+    # 맥락과 함께 오면 등록, 맥락 없이 오면 등록된 값으로 채움 (없으면 409 context_miss)
+    contextRef: Optional[str] = None
 
 class AnalyzeResponse(BaseModel):
     engine: Literal["hf","dummy"]
     skills: Dict[str, int]
     submetrics: Dict[str, float] = {}
 
+# 배치 분석 (Spring 측 마이크로 배칭): items 순서대로 results 반환
+class BatchAnalyzeRequest(BaseModel):
+    items: List[AnalyzeRequest]
+
+class BatchItemResult(BaseModel):
+    ok: bool
+    result: Optional[AnalyzeResponse] = None
+    error: Optional[str] = None
+
+class BatchAnalyzeResponse(BaseModel):
+    results: List[BatchItemResult]
+
 # ========================
 # 유틸 함수
 # ========================
@@ -146,9 +163,20 @@ EMB_MODEL = "jhgan/ko-sroberta-multitask"
 _emb_tok = AutoTokenizer.from_pretrained(EMB_MODEL, use_fast=False)
 _emb_model = AutoModel.from_pretrained(EMB_MODEL).to(_TORCH_DEVICE).eval()
 
+# 배치 요청 처리 중에만 사용하는 문장 임베딩 캐시 (text -> vector)
+# - FastAPI는 def 엔드포인트를 스레드풀에서 돌리므로 요청(스레드)별로 보관
+_EMB_LOCAL = threading.local()
+EMB_BATCH_SIZE = 64
+
 def embed(texts: List[str]) -> np.ndarray:
     if not texts:
         return np.zeros((0, 768))
+    cache = getattr(_EMB_LOCAL, "cache", None)
+    if cache is not None and all(t in cache for t in texts):
+        return np.stack([cache[t] for t in texts])
+    return _embed_forward(texts)
+
+def _embed_forward(texts: List[str]) -> np.ndarray:
     toks = _emb_tok(texts, padding=True, truncation=True, return_tensors="pt")
     toks = {k: v.to(_TORCH_DEVICE) for k, v in toks.items()}
     with torch.no_grad():
@@ -498,6 +526,56 @@ def score_dummy(req: AnalyzeRequest) -> AnalyzeResponse:
     }
     return AnalyzeResponse(engine="dummy", skills=skills, submetrics=sub)
 
+# ========================
+# 시나리오 맥락 캐시 (contextRef -> 맥락 필드), LRU
+# ========================
+_CTX_FIELDS = ("caseTitle", "caseSummary", "facts", "goldAnswer")
+CTX_CACHE_MAX = int(os.environ.get("NLP_CONTEXT_CACHE_MAX", "256"))
+_ctx_cache: "OrderedDict[str, Dict[str, Any]]" = OrderedDict()
+_ctx_lock = threading.Lock()
+
+class ContextMiss(Exception):
+    pass
+
+def resolve_context(req: AnalyzeRequest) -> AnalyzeRequest:
+    if not req.contextRef:
+        return req
+    if any(getattr(req, f) is not None for f in _CTX_FIELDS):
+        with _ctx_lock:
+            _ctx_cache[req.contextRef] = {f: getattr(req, f) for f in _CTX_FIELDS}
+            _ctx_cache.move_to_end(req.contextRef)
+            while len(_ctx_cache) > CTX_CACHE_MAX:
+                _ctx_cache.popitem(last=False)
+        return req
+    with _ctx_lock:
+        ctx = _ctx_cache.get(req.contextRef)
+        if ctx is not None:
+            _ctx_cache.move_to_end(req.contextRef)
+    if ctx is None:
+        raise ContextMiss(req.contextRef)
+    return req.model_copy(update=ctx)
+
+# ========================
+# 배치 임베딩 선계산: 여러 세션의 문장을 한 번의 forward로 묶어 계산
+# ========================
+def _hf_texts(req: AnalyzeRequest) -> List[str]:
+    qs = [q for q in extract_user_questions(req.logJson) if not is_trivial(q)]
+    hints = (req.facts or []) + ([req.caseSummary] if req.caseSummary else [])
+    out = list(qs)
+    if hints:
+        out.append(" ".join(hints))
+        out.extend(hints)
+    return out
+
+def prewarm_embeddings(reqs: List[AnalyzeRequest]) -> Dict[str, np.ndarray]:
+    uniq = list(dict.fromkeys(t for r in reqs for t in _hf_texts(r) if t))
+    cache: Dict[str, np.ndarray] = {}
+    for i in range(0, len(uniq), EMB_BATCH_SIZE):
+        chunk = uniq[i:i + EMB_BATCH_SIZE]
+        for t, v in zip(chunk, _embed_forward(chunk)):
+            cache[t] = v
+    return cache
+
 # ========================
 # FastAPI 앱
 # ========================
@@ -508,7 +586,11 @@ def analyze(
     req: AnalyzeRequest,
     engine: Annotated[Literal["hf","dummy"], Query()] = "hf"
 ):
-    """항상 200 OK를 목표. hf 실패 시 dummy로 내부 fallback."""
+    """항상 200 OK를 목표. hf 실패 시 dummy로 내부 fallback. (맥락 캐시 miss만 409)"""
+    try:
+        req = resolve_context(req)
+    except ContextMiss:
+        raise HTTPException(status_code=409, detail="context_miss")
     use_engine = engine or req.engine or "hf"
     if use_engine == "dummy":
         return score_dummy(req)
@@ -517,3 +599,35 @@ def analyze(
     except Exception as e:
         print("[WARN] HF engine failed, fallback to dummy (HF 엔진 실패, 대체모델로 전환):", e)
         return score_dummy(req)
+
+@app.post("/nlp/analyze/batch", response_model=BatchAnalyzeResponse)
+def analyze_batch(
+    req: BatchAnalyzeRequest,
+    engine: Annotated[Literal["hf","dummy"], Query()] = "hf"
+):
+    """여러 세션을 한 번에 분석. 항목별 실패는 ok=false로 표시하고 나머지는 그대로 반환."""
+    resolved: List[Optional[AnalyzeRequest]] = []
+    for item in req.items:
+        try:
+            resolved.append(resolve_context(item))
+        except ContextMiss:
+            resolved.append(None)
+    if engine == "hf":
+        try:
+            _EMB_LOCAL.cache = prewarm_embeddings([r for r in resolved if r is not None])
+        except Exception as e:
+            print("[WARN] batch prewarm failed (배치 임베딩 선계산 실패, 개별 계산으로 진행):", e)
+            _EMB_LOCAL.cache = None
+    results: List[BatchItemResult] = []
+    try:
+        for item in resolved:
+            if item is None:
+                results.append(BatchItemResult(ok=False, error="context_miss"))
+                continue
+            try:
+                results.append(BatchItemResult(ok=True, result=analyze(item, engine)))
+            except Exception as e:
+                results.append(BatchItemResult(ok=False, error=str(e)))
+    finally:
+        _EMB_LOCAL.cache = None
+    return BatchAnalyzeResponse(results=results)
@@ -0,0 +1,188 @@
+# tools/record_dummy_fixtures.py
+# score_dummy 출력 기록 → Spring SkillScorer(engine=java) 패리티 테스트 픽스처
+#
+# 사용법 (detective-nlp 디렉터리에서, 서비스와 같은 numpy/pydantic/fastapi 환경):
+#   python tools/record_dummy_fixtures.py
+#   → ../detective-backend/src/test/resources/nlp/dummy_parity.json
+#
+# score_dummy는 모델을 쓰지 않으므로 torch/transformers/sklearn은 가짜 모듈로 대체해
+# 모델 다운로드 없이 app.main을 불러온다 (numpy/pydantic/fastapi는 실제 패키지 필요).
+#
+# numpy는 설치된 실제 배포판이어야 함 (대체 모듈로는 기록 거부) → 파일에 numpy/python 버전 기록.
+# SkillScorerParityTest는 이 파일이 없으면 실패한다.
+# (nlp/dummy_reference_numpy_stub.json 은 numpy 대체 모듈로 기록한 회귀 확인용, 패리티 근거 아님)
+import contextlib
+import importlib.metadata
+import io
+import json
+import os
+import random
+import sys
+import types
+
+HERE = os.path.dirname(os.path.abspath(__file__))
+ROOT = os.path.dirname(HERE)
+OUT = os.path.join(ROOT, "..", "detective-backend", "src", "test", "resources", "nlp", "dummy_parity.json")
+
+
+def _stub_model_modules():
+    class _Model:
+        @classmethod
+        def from_pretrained(cls, *a, **k):
+            return cls()
+
+        def to(self, *a, **k):
+            return self
+
+        def eval(self):
+            return self
+
+    torch = types.ModuleType("torch")
+    torch.cuda = types.SimpleNamespace(is_available=lambda: False)
+    torch.device = lambda name: name
+    nn = types.ModuleType("torch.nn")
+    functional = types.ModuleType("torch.nn.functional")
+    nn.functional = functional
+    torch.nn = nn
+    transformers = types.ModuleType("transformers")
+    transformers.AutoTokenizer = _Model
+    transformers.AutoModel = _Model
+    transformers.AutoModelForSequenceClassification = _Model
+    sklearn = types.ModuleType("sklearn")
+    metrics = types.ModuleType("sklearn.metrics")
+    pairwise = types.ModuleType("sklearn.metrics.pairwise")
+    pairwise.cosine_similarity = lambda *a, **k: None
+    sys.modules.update({
+        "torch": torch, "torch.nn": nn, "torch.nn.functional": functional,
+        "transformers": transformers,
+        "sklearn": sklearn, "sklearn.metrics": metrics, "sklearn.metrics.pairwise": pairwise,
+    })
+
+
+GOLD = {
+    "culpritId": "s2", "culpritName": "박집사",
+    "motive": "유산 상속을 노리고 주인을 제거하려 함",
+    "method": "와인잔에 수면제를 타고 서재 창문으로 빠져나감",
+    "keyEvidenceIds": ["e1", "e3"],
+}
+FACTS = [
+    "김하녀 알리바이: 밤 10시에 부엌에서 설거지",
+    "박집사 알리바이: 서재 근처에서 목격됨",
+    "증거: 와인잔 - 수면제 성분 검출",
+    "증거: 열린 창문 - 서재 창문 잠금 해제",
+    "타임라인 22:30: 서재에서 비명",
+]
+SUMMARY = "저택 주인이 서재에서 쓰러진 채 발견되었다. 밤 사이 저택에 있던 사람은 셋뿐이다."
+
+QUESTIONS = [
+    "밤 10시에 어디에 있었나요?",
+    "서재 창문은 누가 열었죠?",
+    "와인잔에서 수면제가 검출된 이유를 설명해 주세요",
+    "박집사님은 서재 근처에서 무엇을 하고 있었나요",
+    "비명 소리를 들은 시간은 정확히 언제인가요?",
+    "유산 상속 문제로 다툰 적이 있나요?",
+    "부엌에서 설거지를 했다는 증인이 있나요",
+    "창문 잠금이 해제된 흔적은 언제 생겼죠?",
+    "주인과 마지막으로 대화한 사람은 누구인가요?",
+    "수면제는 어디서 구했을까요",
+    "그날 저녁 식사 메뉴는 무엇이었나요?",
+    "정원사는 왜 그날 일찍 퇴근했나요?",
+    "서재 열쇠는 몇 개 있나요",
+    "Who had access to the study at 10 pm?",
+    "what about the wine glass",
+]
+JUNK = ["ㅇㅇ", "ㅋㅋㅋ", "?", "...", "ㅁㄴㅇㄹ", "ㅎㅎ", "아아아", "네", "몰라", "ㄴㄴ", "!!", "a", "  ", "ㄹㅇ"]
+
+
+def _log(qs):
+    logs = []
+    for i, q in enumerate(qs):
+        logs.append({"turn": i + 1, "speaker": "PLAYER", "message": q, "meta": {}})
+        logs.append({"turn": i + 1, "speaker": "NPC", "message": "모르겠습니다.", "meta": {}})
+    return {"logs": logs}
+
+
+def _cases():
+    cases = [
+        ("empty_log", {"logJson": {"logs": []}}),
+        ("only_junk", {"logJson": _log(JUNK[:6]), "facts": FACTS, "caseSummary": SUMMARY, "goldAnswer": GOLD}),
+        ("single_question", {"logJson": _log(QUESTIONS[:1]), "facts": FACTS, "caseSummary": SUMMARY}),
+        ("no_context", {"logJson": _log(QUESTIONS[:5])}),
+        ("good_player_correct", {
+            "logJson": _log(QUESTIONS[:10]), "facts": FACTS, "caseSummary": SUMMARY, "goldAnswer": GOLD,
+            "finalAnswer": {"culprit": "s2", "how": "와인잔에 수면제를 타고 창문으로 도망", "why": "유산 상속",
+                            "evidence_selected": ["e1", "e3"]},
+        }),
+        ("culprit_by_name", {
+            "logJson": _log(QUESTIONS[2:9]), "facts": FACTS, "caseSummary": SUMMARY, "goldAnswer": GOLD,
+            "finalAnswer": {"culprit": " 박집사 ", "how": "", "why": "돈", "evidence_selected": "e1"},
+        }),
+        ("wrong_culprit", {
+            "logJson": _log(QUESTIONS[:4] + JUNK[:3]), "facts": FACTS, "caseSummary": SUMMARY, "goldAnswer": GOLD,
+            "finalAnswer": {"culprit": "s1", "how": "독살", "why": "원한", "evidence_selected": ["e2", "e9"]},
+        }),
+        ("many_questions", {"logJson": _log(QUESTIONS * 3), "facts": FACTS, "caseSummary": SUMMARY, "goldAnswer": GOLD}),
+        ("english_mixed", {"logJson": _log(QUESTIONS[13:] + ["Was the WINDOW open?"]), "facts": FACTS + ["Window was OPEN"]}),
+        ("npc_only", {"logJson": {"logs": [{"speaker": "NPC", "message": "안녕하세요"}]}, "facts": FACTS}),
+        ("lowercase_speaker", {"logJson": {"logs": [{"speaker": "player", "message": "  서재 창문은 누가 열었죠?  "}]},
+                               "facts": FACTS, "caseSummary": SUMMARY}),
+    ]
+    rnd = random.Random(20260419)
+    pool = QUESTIONS + JUNK
+    for i in range(40):
+        qs = [rnd.choice(pool) for _ in range(rnd.randint(0, 22))]
+        case = {"logJson": _log(qs)}
+        if rnd.random() < 0.85:
+            case["facts"] = rnd.sample(FACTS, rnd.randint(0, len(FACTS)))
+            case["caseSummary"] = SUMMARY if rnd.random() < 0.7 else None
+        if rnd.random() < 0.7:
+            case["goldAnswer"] = GOLD
+            case["finalAnswer"] = {
+                "culprit": rnd.choice(["s1", "s2", "박집사", "김하녀", ""]),
+                "how": rnd.choice(["", "와인잔에 수면제", "창문으로 침입", GOLD["method"]]),
+                "why": rnd.choice(["", "유산", "원한 때문에", GOLD["motive"]]),
+                "evidence_selected": rnd.sample(["e1", "e2", "e3", "e4"], rnd.randint(0, 4)),
+            }
+        cases.append((f"random_{i:02d}", case))
+    return cases
+
+
+def _real_numpy_version():
+    # 배포 메타데이터가 없으면 PYTHONPATH의 대체 모듈 → 패리티 기준으로 쓸 수 없음
+    try:
+        version = importlib.metadata.version("numpy")
+    except importlib.metadata.PackageNotFoundError:
+        sys.exit("numpy 배포판이 설치되어 있지 않습니다 (pip install -r requirements.txt)")
+    import numpy
+    if numpy.__version__ != version:
+        sys.exit(f"numpy 모듈({numpy.__version__}) ≠ 설치된 배포판({version}) → 대체 모듈 의심")
+    return version
+
+
+def main():
+    numpy_version = _real_numpy_version()
+    _stub_model_modules()
+    sys.path.insert(0, ROOT)
+    from app import main as m  # noqa: E402
+
+    fixtures = []
+    for name, case in _cases():
+        with contextlib.redirect_stdout(io.StringIO()):
+            resp = m.score_dummy(m.AnalyzeRequest(**case))
+        fixtures.append({
+            "name": name,
+            "request": case,
+            "skills": dict(resp.skills),
+            "submetrics": dict(resp.submetrics),
+        })
+    os.makedirs(os.path.dirname(OUT), exist_ok=True)
+    with open(OUT, "w", encoding="utf-8") as f:
+        # 기록 환경 + 케이스당 한 줄 (diff 보기 쉽게)
+        recorded = {"numpy": numpy_version, "python": sys.version.split()[0]}
+        f.write('{"recordedWith": ' + json.dumps(recorded) + ',\n"cases": [\n'
+                + ",\n".join(json.dumps(x, ensure_ascii=False) for x in fixtures) + "\n]}\n")
+    print(f"wrote {len(fixtures)} fixtures (numpy {numpy_version}) → {os.path.normpath(OUT)}")
+
+
+if __name__ == "__main__":
+    main()